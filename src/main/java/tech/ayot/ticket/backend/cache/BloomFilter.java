@@ -0,0 +1,92 @@
+package tech.ayot.ticket.backend.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter of 64-bit hashes
+ * <p>
+ *     {@link #mightContain} never returns false for an added hash, and returns true for a hash that was not added
+ *     with about the given false positive rate, as long as no more than expectedInsertions hashes are added.
+ *     Hashes cannot be removed.
+ * </p>
+ */
+public final class BloomFilter {
+
+    private final AtomicLongArray bits;
+
+    private final long bitCount;
+
+    private final int hashCount;
+
+    public BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        int insertions = Math.max(1, expectedInsertions);
+        long optimalBitCount = (long) Math.ceil(-insertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (optimalBitCount + 63) / 64));
+        this.bits = new AtomicLongArray(wordCount);
+        this.bitCount = (long) wordCount * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / insertions * Math.log(2)));
+    }
+
+
+    /**
+     * @param value The value
+     * @return Hash of the value to add to or look up in a filter
+     */
+    public static long hash(long value) {
+        // Finalizer of MurmurHash3, spreads sequential ids over all bits
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+    /**
+     * @param value The value
+     * @return Hash of the value to add to or look up in a filter
+     */
+    public static long hash(String value) {
+        // 64-bit FNV-1a over the characters
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash(hash);
+    }
+
+
+    /**
+     * Adds the hash to the filter
+     *
+     * @param hash The hash
+     */
+    public void add(long hash) {
+        long secondHash = hash(hash);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = ((hash + i * secondHash) & Long.MAX_VALUE) % bitCount;
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = bits.get(word);
+            while ((current & mask) == 0 && !bits.weakCompareAndSetVolatile(word, current, current | mask)) {
+                current = bits.get(word);
+            }
+        }
+    }
+
+    /**
+     * @param hash The hash
+     * @return false if the hash was definitely not added, true if it might have been added
+     */
+    public boolean mightContain(long hash) {
+        long secondHash = hash(hash);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = ((hash + i * secondHash) & Long.MAX_VALUE) % bitCount;
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
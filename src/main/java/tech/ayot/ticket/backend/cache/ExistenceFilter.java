@@ -0,0 +1,118 @@
+package tech.ayot.ticket.backend.cache;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * In-process filter answering whether a row might exist, without querying the database
+ * <p>
+ *     Every refresh scans all rows into a new filter and records the highest id it scanned.
+ *     Rows with a higher id, such as rows created by other nodes since, might exist,
+ *     so they are always looked up in the database.
+ *     Rows committed after the scan passed their id are added by the next refresh,
+ *     and deleted rows are dropped by it.
+ *     Rows created by this node are also added by {@link ExistenceFilterListener} as soon as they are inserted.
+ *     Until the first refresh, or if the filter is disabled, every row might exist.
+ * </p>
+ */
+public abstract class ExistenceFilter {
+
+    private final boolean enabled;
+
+    private final int expectedInsertions;
+
+    private final double falsePositiveRate;
+
+    private final int batchSize;
+
+    /**
+     * Filter of the last refresh, null until the first refresh
+     */
+    private volatile Snapshot snapshot;
+
+    /**
+     * Filter being built by the running refresh, null if no refresh is running
+     */
+    private volatile BloomFilter nextFilter;
+
+    protected ExistenceFilter(boolean enabled, int expectedInsertions, double falsePositiveRate, int batchSize) {
+        this.enabled = enabled;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.batchSize = batchSize;
+    }
+
+
+    /**
+     * Rebuilds the filter from all rows
+     */
+    @Scheduled(fixedDelayString = "${existence-filter.refresh-interval:PT1M}")
+    public synchronized void refresh() {
+        if (!enabled) {
+            return;
+        }
+
+        BloomFilter filter = new BloomFilter(expectedInsertions, falsePositiveRate);
+        nextFilter = filter;
+        try {
+            long lastId = 0;
+            while (true) {
+                long batchLastId = addBatch(filter, lastId, batchSize);
+                if (batchLastId <= lastId) {
+                    break;
+                }
+                lastId = batchLastId;
+            }
+            snapshot = new Snapshot(filter, lastId);
+        } finally {
+            nextFilter = null;
+        }
+    }
+
+
+    /**
+     * Adds the next rows to the filter
+     *
+     * @param filter    The filter
+     * @param afterId   The rows' ids are greater than this id
+     * @param batchSize The maximum number of rows to add
+     * @return The highest id of the added rows, afterId if there are no more rows
+     */
+    protected abstract long addBatch(BloomFilter filter, long afterId, int batchSize);
+
+    protected void addHash(long hash) {
+        Snapshot currentSnapshot = snapshot;
+        if (currentSnapshot != null) {
+            currentSnapshot.filter().add(hash);
+        }
+        BloomFilter currentNextFilter = nextFilter;
+        if (currentNextFilter != null) {
+            currentNextFilter.add(hash);
+        }
+    }
+
+    /**
+     * @param hash The row's hash
+     * @return false if no row with an id up to the highest scanned id has the hash
+     */
+    protected boolean mightContainHash(long hash) {
+        Snapshot currentSnapshot = snapshot;
+        return currentSnapshot == null || currentSnapshot.filter().mightContain(hash);
+    }
+
+    /**
+     * @param id   The row's id
+     * @param hash The row's hash
+     * @return false if the row definitely does not exist
+     */
+    protected boolean mightContain(long id, long hash) {
+        Snapshot currentSnapshot = snapshot;
+        return currentSnapshot == null || id > currentSnapshot.scannedMaxId() || currentSnapshot.filter().mightContain(hash);
+    }
+
+
+    /**
+     * Filter of the rows with an id up to scannedMaxId
+     */
+    private record Snapshot(BloomFilter filter, long scannedMaxId) {
+    }
+}
@@ -0,0 +1,35 @@
+package tech.ayot.ticket.backend.cache;
+
+import jakarta.persistence.PostPersist;
+import tech.ayot.ticket.backend.model.product.Product;
+import tech.ayot.ticket.backend.model.user.User;
+
+/**
+ * Adds inserted products and users to the existence filters
+ * <p>
+ *     Rows are added when they are inserted rather than when they are committed,
+ *     so they can be found as soon as they are visible to other requests.
+ *     Rows of rolled back transactions stay in the filters until the next refresh, which only costs a database query.
+ * </p>
+ */
+public class ExistenceFilterListener {
+
+    private final ProductIdFilter productIdFilter;
+
+    private final UsernameFilter usernameFilter;
+
+    public ExistenceFilterListener(ProductIdFilter productIdFilter, UsernameFilter usernameFilter) {
+        this.productIdFilter = productIdFilter;
+        this.usernameFilter = usernameFilter;
+    }
+
+
+    @PostPersist
+    public void onPostPersist(Object entity) {
+        if (entity instanceof Product product) {
+            productIdFilter.add(product.getId());
+        } else if (entity instanceof User user) {
+            usernameFilter.add(user.getUsername());
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package tech.ayot.ticket.backend.cache;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Thread-safe map whose entries expire, holding at most maxEntries entries
+ * <p>
+ *     Expired entries are never returned. When the map is full, expired entries are removed first,
+ *     then the tenth of the entries expiring first, so a burst of new keys never drops all entries at once.
+ *     This is the eviction policy of every in-process cache of this application.
+ * </p>
+ *
+ * @param <K> Type of keys
+ * @param <V> Type of values
+ */
+public final class ExpiringMap<K, V> {
+
+    private static final Comparator<Map.Entry<?, ? extends Entry<?>>> EXPIRING_FIRST = Comparator
+        .<Map.Entry<?, ? extends Entry<?>>>comparingLong(entry -> entry.getValue().expiresAt())
+        .thenComparingLong(entry -> entry.getValue().sequence());
+
+
+    private final long ttlMillis;
+
+    private final int maxEntries;
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    public ExpiringMap(Duration ttl, int maxEntries) {
+        this.ttlMillis = ttl.toMillis();
+        this.maxEntries = Math.max(1, maxEntries);
+    }
+
+
+    /**
+     * @param key The key
+     * @return The key's value, null if it is missing or expired
+     */
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt() <= System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.value();
+    }
+
+    /**
+     * Puts the value, it expires after the ttl
+     *
+     * @param key   The key
+     * @param value The value
+     */
+    public void put(K key, V value) {
+        put(key, value, System.currentTimeMillis() + ttlMillis);
+    }
+
+    /**
+     * Puts the value, it expires at expiresAt
+     *
+     * @param key       The key
+     * @param value     The value
+     * @param expiresAt Expiry time of the value in milliseconds
+     */
+    public void put(K key, V value, long expiresAt) {
+        makeRoom();
+        entries.put(key, new Entry<>(value, expiresAt, sequence.incrementAndGet()));
+    }
+
+    /**
+     * Atomically replaces the key's value
+     * <p>
+     *     A value replacing a live value keeps its expiry time, otherwise the new value expires after the ttl.
+     * </p>
+     *
+     * @param key       The key
+     * @param remapping Returns the new value from the live value or null, the key is removed if it returns null
+     * @return The new value
+     */
+    public V update(K key, UnaryOperator<V> remapping) {
+        makeRoom();
+        long now = System.currentTimeMillis();
+        Entry<V> updatedEntry = entries.compute(key, (ignored, entry) -> {
+            boolean isLive = entry != null && entry.expiresAt() > now;
+            V value = remapping.apply(isLive ? entry.value() : null);
+            if (value == null) {
+                return null;
+            }
+            return isLive
+                ? new Entry<>(value, entry.expiresAt(), entry.sequence())
+                : new Entry<>(value, now + ttlMillis, sequence.incrementAndGet());
+        });
+        return updatedEntry == null ? null : updatedEntry.value();
+    }
+
+    /**
+     * Removes the key
+     *
+     * @param key The key
+     */
+    public void remove(K key) {
+        entries.remove(key);
+    }
+
+    /**
+     * Removes the key if its value is the given instance
+     *
+     * @param key   The key
+     * @param value The value
+     * @return true if the key was removed
+     */
+    public boolean remove(K key, V value) {
+        Entry<V> entry = entries.get(key);
+        return entry != null && entry.value() == value && entries.remove(key, entry);
+    }
+
+    /**
+     * Removes the keys whose values match the filter
+     *
+     * @param filter The filter
+     */
+    public void removeIf(Predicate<? super V> filter) {
+        entries.values().removeIf(entry -> filter.test(entry.value()));
+    }
+
+    /**
+     * @return Number of entries, including expired entries not removed yet
+     */
+    public int size() {
+        return entries.size();
+    }
+
+
+    private void makeRoom() {
+        if (entries.size() < maxEntries) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expiresAt() <= now);
+        if (entries.size() >= maxEntries) {
+            evictFirstExpiring();
+        }
+    }
+
+    private synchronized void evictFirstExpiring() {
+        if (entries.size() < maxEntries) {
+            return;
+        }
+        entries.entrySet().stream()
+            .sorted(EXPIRING_FIRST)
+            .limit(Math.max(1, entries.size() / 10))
+            .toList()
+            .forEach(entry -> entries.remove(entry.getKey(), entry.getValue()));
+    }
+
+
+    /**
+     * Value of a key, valid until expiresAt
+     *
+     * @param sequence Order in which the value was put, orders values expiring at the same time
+     */
+    private record Entry<V>(V value, long expiresAt, long sequence) {
+    }
+}
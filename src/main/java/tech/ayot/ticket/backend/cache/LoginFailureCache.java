@@ -0,0 +1,101 @@
+package tech.ayot.ticket.backend.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Cache of recent failed logins by username and remote address, and by remote address
+ * <p>
+ *     Logins are rejected before the password is checked once a username has too many failures from an address,
+ *     or an address has too many failures in the current window, so guessing passwords cannot keep the hashing
+ *     threads busy. Failures of a username are counted per address, so failures from one address never lock the
+ *     user out of other addresses. Failures are counted per node.
+ * </p>
+ * <p>
+ *     Both counters are kept in separate maps of at most maxEntries entries, so spraying usernames
+ *     only evicts the oldest username counters and never resets the counter of the spraying address.
+ * </p>
+ * <p>
+ *     The remote address must be the client's address. Behind a load balancer, the balancer has to set
+ *     X-Forwarded-For and be trusted by {@code server.tomcat.remoteip.internal-proxies}, otherwise all logins
+ *     share the balancer's address.
+ * </p>
+ */
+@Component
+public class LoginFailureCache {
+
+    private final int maxFailuresPerUsername;
+
+    private final int maxFailuresPerAddress;
+
+    /**
+     * Failed logins in the current window by username and address, the window starts with the first failure
+     */
+    private final ExpiringMap<String, Integer> failuresByUsername;
+
+    /**
+     * Failed logins in the current window by address
+     */
+    private final ExpiringMap<String, Integer> failuresByAddress;
+
+    public LoginFailureCache(
+        @Value("${auth.login-throttle.max-failures-per-username:10}") int maxFailuresPerUsername,
+        @Value("${auth.login-throttle.max-failures-per-address:50}") int maxFailuresPerAddress,
+        @Value("${auth.login-throttle.window:15m}") Duration window,
+        @Value("${auth.login-throttle.max-entries:100000}") int maxEntries
+    ) {
+        this.maxFailuresPerUsername = maxFailuresPerUsername;
+        this.maxFailuresPerAddress = maxFailuresPerAddress;
+        this.failuresByUsername = new ExpiringMap<>(window, maxEntries);
+        this.failuresByAddress = new ExpiringMap<>(window, maxEntries);
+    }
+
+
+    /**
+     * @param username The username of the login
+     * @param address  The remote address of the login
+     * @return true if logins of the username from the address, or all logins from the address, should be rejected
+     */
+    public boolean isBlocked(String username, String address) {
+        return getCount(failuresByUsername, usernameKey(username, address)) >= maxFailuresPerUsername
+            || getCount(failuresByAddress, String.valueOf(address)) >= maxFailuresPerAddress;
+    }
+
+    /**
+     * Records a failed login
+     *
+     * @param username The username of the login
+     * @param address  The remote address of the login
+     */
+    public void recordFailure(String username, String address) {
+        failuresByUsername.update(usernameKey(username, address), LoginFailureCache::increment);
+        failuresByAddress.update(String.valueOf(address), LoginFailureCache::increment);
+    }
+
+    /**
+     * Forgets the failed logins of the username from the address after a successful login
+     *
+     * @param username The username
+     * @param address  The remote address of the login
+     */
+    public void reset(String username, String address) {
+        failuresByUsername.remove(usernameKey(username, address));
+    }
+
+
+    private static int getCount(ExpiringMap<String, Integer> failures, String key) {
+        Integer count = failures.get(key);
+        return count == null ? 0 : count;
+    }
+
+    private static Integer increment(Integer count) {
+        return count == null ? 1 : count + 1;
+    }
+
+    private static String usernameKey(String username, String address) {
+        return (username == null ? "" : username.toLowerCase(Locale.ROOT)) + "@" + address;
+    }
+}
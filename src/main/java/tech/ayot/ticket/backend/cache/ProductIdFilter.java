@@ -0,0 +1,59 @@
+package tech.ayot.ticket.backend.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import tech.ayot.ticket.backend.repository.product.ProductRepository;
+
+import java.util.List;
+
+/**
+ * In-process filter of existing product ids
+ * <p>
+ *     Requests for products that definitely do not exist are answered without querying the database.
+ *     Ids above the highest id scanned by the last refresh always might exist,
+ *     so products created by other nodes are found before the next refresh.
+ * </p>
+ */
+@Component
+public class ProductIdFilter extends ExistenceFilter {
+
+    private final ProductRepository productRepository;
+
+    public ProductIdFilter(
+        ProductRepository productRepository,
+        @Value("${existence-filter.enabled:true}") boolean enabled,
+        @Value("${existence-filter.products.expected-insertions:100000}") int expectedInsertions,
+        @Value("${existence-filter.false-positive-rate:0.01}") double falsePositiveRate,
+        @Value("${existence-filter.batch-size:10000}") int batchSize
+    ) {
+        super(enabled, expectedInsertions, falsePositiveRate, batchSize);
+        this.productRepository = productRepository;
+    }
+
+
+    /**
+     * @param productId The product's id
+     * @return false if the product definitely does not exist
+     */
+    public boolean mightExist(long productId) {
+        return mightContain(productId, BloomFilter.hash(productId));
+    }
+
+    /**
+     * Adds the product's id to the filter
+     *
+     * @param productId The product's id
+     */
+    public void add(long productId) {
+        addHash(BloomFilter.hash(productId));
+    }
+
+
+    @Override
+    protected long addBatch(BloomFilter filter, long afterId, int batchSize) {
+        List<Long> productIds = productRepository.findIdsAfter(afterId, PageRequest.ofSize(batchSize));
+        productIds.forEach(productId -> filter.add(BloomFilter.hash(productId)));
+        return productIds.isEmpty() ? afterId : productIds.get(productIds.size() - 1);
+    }
+}
@@ -0,0 +1,70 @@
+package tech.ayot.ticket.backend.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import tech.ayot.ticket.backend.repository.product.ProductRepository;
+
+import java.time.Duration;
+
+/**
+ * In-process cache resolving product names to product ids
+ * <p>
+ *     Product names cannot be changed, so a mapping only becomes invalid when its product is deleted.
+ *     {@link tech.ayot.ticket.backend.service.product.ProductService ProductService} evicts mappings
+ *     whenever it creates, updates or deletes a product, and mappings expire after
+ *     {@code product.name-cache.ttl}, so products deleted on other nodes stop resolving too.
+ *     Unknown names are not cached, so they always reach the database.
+ * </p>
+ */
+@Component
+public class ProductNameCache {
+
+    private final ProductRepository productRepository;
+
+    private final ExpiringMap<String, Long> productIds;
+
+    public ProductNameCache(
+        ProductRepository productRepository,
+        @Value("${product.name-cache.ttl:60s}") Duration ttl,
+        @Value("${product.name-cache.max-entries:10000}") int maxEntries
+    ) {
+        this.productRepository = productRepository;
+        this.productIds = new ExpiringMap<>(ttl, maxEntries);
+    }
+
+
+    /**
+     * @param name The product's name
+     * @return The product's id, or null if there is no product with this name
+     */
+    public Long getProductId(String name) {
+        Long productId = productIds.get(name);
+        if (productId != null) {
+            return productId;
+        }
+
+        productId = productRepository.findIdByName(name);
+        if (productId != null) {
+            productIds.put(name, productId);
+        }
+        return productId;
+    }
+
+    /**
+     * Evicts mapping of the product's name
+     *
+     * @param name The product's name
+     */
+    public void evict(String name) {
+        productIds.remove(name);
+    }
+
+    /**
+     * Evicts mapping to the product's id
+     *
+     * @param productId The product's id
+     */
+    public void evict(Long productId) {
+        productIds.removeIf(productId::equals);
+    }
+}
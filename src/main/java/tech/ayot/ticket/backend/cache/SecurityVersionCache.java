@@ -0,0 +1,108 @@
+package tech.ayot.ticket.backend.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import tech.ayot.ticket.backend.dto.auth.GrantedRoleDto;
+import tech.ayot.ticket.backend.dto.auth.UserDto;
+import tech.ayot.ticket.backend.model.user.User;
+import tech.ayot.ticket.backend.repository.user.UserRepository;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * In-process cache of the security version of users
+ * <p>
+ *     The security version of a user is its modified date together with its roles, in any order.
+ *     A session or token principal is stale when its security version differs from the cached one.
+ *     Profile and role writes evict the affected users, and entries expire after the ttl,
+ *     so writes on other nodes are picked up too.
+ * </p>
+ */
+@Component
+public class SecurityVersionCache {
+
+    private final UserRepository userRepository;
+
+    /**
+     * Users at their current security version by their ids
+     */
+    private final ExpiringMap<Long, UserDto> users;
+
+    public SecurityVersionCache(
+        UserRepository userRepository,
+        @Value("${auth.security-version.ttl:1m}") Duration ttl,
+        @Value("${auth.security-version.max-entries:100000}") int maxEntries
+    ) {
+        this.userRepository = userRepository;
+        this.users = new ExpiringMap<>(ttl, maxEntries);
+    }
+
+
+    /**
+     * Checks the principal against the current security version of its user
+     * <p>
+     *     The user and its roles are only loaded, in a single query, when the user is not cached.
+     * </p>
+     *
+     * @param userDto The principal of the session or token
+     * @return The user at its current security version, null if the principal is up to date
+     */
+    public UserDto getUpdatedUser(UserDto userDto) {
+        UserDto currentUserDto = users.get(userDto.getId());
+        if (currentUserDto == null) {
+            User user = userRepository.findWithUserProductsById(userDto.getId());
+            if (user == null) {
+                return null;
+            }
+            currentUserDto = new UserDto(user);
+            users.put(userDto.getId(), currentUserDto);
+        }
+
+        if (currentUserDto == userDto || hasSameVersion(currentUserDto, userDto)) {
+            return null;
+        }
+        return currentUserDto;
+    }
+
+    /**
+     * Evicts the security version of the user
+     *
+     * @param userId The user's id
+     */
+    public void evict(Long userId) {
+        users.remove(userId);
+    }
+
+    /**
+     * Evicts the security version of users with a role in the product
+     *
+     * @param productId The product's id
+     */
+    public void evictByProductId(Long productId) {
+        users.removeIf(user -> user.getRoles().stream()
+            .anyMatch(role -> productId.equals(role.getProductId()))
+        );
+    }
+
+
+    private static boolean hasSameVersion(UserDto user, UserDto otherUser) {
+        // Dates are compared by time, as dates loaded from the database are timestamps
+        Date modifiedDate = user.getModifiedDate();
+        Date otherModifiedDate = otherUser.getModifiedDate();
+        if (modifiedDate == null || otherModifiedDate == null
+            ? modifiedDate != otherModifiedDate
+            : modifiedDate.getTime() != otherModifiedDate.getTime()) {
+            return false;
+        }
+
+        // Roles are loaded in no particular order, so they are compared sorted by their authorities
+        return user.getRoles().size() == otherUser.getRoles().size()
+            && getSortedAuthorities(user).equals(getSortedAuthorities(otherUser));
+    }
+
+    private static List<String> getSortedAuthorities(UserDto user) {
+        return user.getRoles().stream().map(GrantedRoleDto::getAuthority).sorted().toList();
+    }
+}
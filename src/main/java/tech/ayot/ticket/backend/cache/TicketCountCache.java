@@ -0,0 +1,67 @@
+package tech.ayot.ticket.backend.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+import tech.ayot.ticket.backend.model.enumuration.TicketStatus;
+import tech.ayot.ticket.backend.model.enumuration.TicketType;
+import tech.ayot.ticket.backend.model.ticket.Ticket;
+import tech.ayot.ticket.backend.repository.ticket.TicketRepository;
+
+import java.time.Duration;
+import java.util.Date;
+
+/**
+ * Cache of ticket counts per list filter
+ * <p>
+ *     Counts are at most {@code ticket.list.count-cache.ttl} old.
+ *     They are used to estimate the total number of pages without counting on every request.
+ * </p>
+ */
+@Component
+public class TicketCountCache {
+
+    private final TicketRepository ticketRepository;
+
+    private final ExpiringMap<Filter, Long> counts;
+
+    public TicketCountCache(
+        TicketRepository ticketRepository,
+        @Value("${ticket.list.count-cache.ttl:60s}") Duration ttl,
+        @Value("${ticket.list.count-cache.max-entries:10000}") int maxEntries
+    ) {
+        this.ticketRepository = ticketRepository;
+        this.counts = new ExpiringMap<>(ttl, maxEntries);
+    }
+
+
+    /**
+     * @param filter        The list filter
+     * @param specification Specification of the filter, used if the count is missing or stale
+     * @return Number of tickets matching the filter
+     */
+    public long count(Filter filter, Specification<Ticket> specification) {
+        Long count = counts.get(filter);
+        if (count != null) {
+            return count;
+        }
+
+        count = ticketRepository.count(specification);
+        counts.put(filter, count);
+        return count;
+    }
+
+
+    /**
+     * Represents filters of a ticket list request
+     */
+    public record Filter(
+        Long userId,
+        TicketType type,
+        Long productId,
+        Date createdAfter,
+        Date createdBefore,
+        TicketStatus status
+    ) {
+    }
+}
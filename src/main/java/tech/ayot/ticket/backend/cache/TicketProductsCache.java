@@ -0,0 +1,60 @@
+package tech.ayot.ticket.backend.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import tech.ayot.ticket.backend.repository.ticket.TicketRepository;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Cache of names of the products each user has created tickets for
+ * <p>
+ *     Tickets are never deleted and products with tickets cannot be deleted,
+ *     so a user's entry only becomes invalid when that user creates a ticket.
+ *     {@link tech.ayot.ticket.backend.service.ticket.TicketService TicketService} evicts it then,
+ *     and entries are reloaded after {@code ticket.products-cache.ttl}, so tickets created on other nodes show up too.
+ * </p>
+ */
+@Component
+public class TicketProductsCache {
+
+    private final TicketRepository ticketRepository;
+
+    private final ExpiringMap<Long, List<String>> productNames;
+
+    public TicketProductsCache(
+        TicketRepository ticketRepository,
+        @Value("${ticket.products-cache.ttl:60s}") Duration ttl,
+        @Value("${ticket.products-cache.max-entries:10000}") int maxEntries
+    ) {
+        this.ticketRepository = ticketRepository;
+        this.productNames = new ExpiringMap<>(ttl, maxEntries);
+    }
+
+
+    /**
+     * @param userId The user's id
+     * @return Names of the products the user has created tickets for, sorted by name
+     */
+    public List<String> getProductNames(Long userId) {
+        List<String> names = productNames.get(userId);
+        if (names != null) {
+            return names;
+        }
+
+        names = List.copyOf(ticketRepository.findProductNamesByCreatedById(userId));
+        productNames.put(userId, names);
+        return names;
+    }
+
+    /**
+     * Evicts product names of the user
+     *
+     * @param userId The user's id
+     */
+    public void evict(Long userId) {
+        productNames.remove(userId);
+    }
+
+}
@@ -0,0 +1,51 @@
+package tech.ayot.ticket.backend.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.hibernate.Cache;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tech.ayot.ticket.backend.model.user.User;
+import tech.ayot.ticket.backend.model.user.UserProduct;
+
+/**
+ * Evicts the cached roles of a user when one of its user products is saved or deleted
+ * <p>
+ *     User products are often saved through their own repository rather than through
+ *     {@link User#getUserProducts()}, so Hibernate does not know that the cached collection of the user changed.
+ *     The collection is evicted right away and again after commit, so it is not cached from a transaction
+ *     that read it before the commit.
+ * </p>
+ */
+public class UserProductsCacheListener {
+
+    private static final String USER_PRODUCTS_ROLE = User.class.getName() + ".userProducts";
+
+
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+
+    public UserProductsCacheListener(ObjectProvider<EntityManagerFactory> entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void evictUserProducts(UserProduct userProduct) {
+        Long userId = userProduct.getUser().getId();
+        Cache cache = entityManagerFactory.getObject().getCache().unwrap(Cache.class);
+        cache.evictCollectionData(USER_PRODUCTS_ROLE, userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.evictCollectionData(USER_PRODUCTS_ROLE, userId);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package tech.ayot.ticket.backend.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import tech.ayot.ticket.backend.repository.user.UserRepository;
+
+import java.util.List;
+
+/**
+ * In-process filter of existing usernames
+ * <p>
+ *     Registrations of usernames missing from the filter skip the existence query,
+ *     the unique constraint on usernames still rejects usernames taken by users the filter has not seen yet.
+ * </p>
+ */
+@Component
+public class UsernameFilter extends ExistenceFilter {
+
+    private final UserRepository userRepository;
+
+    public UsernameFilter(
+        UserRepository userRepository,
+        @Value("${existence-filter.enabled:true}") boolean enabled,
+        @Value("${existence-filter.users.expected-insertions:1000000}") int expectedInsertions,
+        @Value("${existence-filter.false-positive-rate:0.01}") double falsePositiveRate,
+        @Value("${existence-filter.batch-size:10000}") int batchSize
+    ) {
+        super(enabled, expectedInsertions, falsePositiveRate, batchSize);
+        this.userRepository = userRepository;
+    }
+
+
+    /**
+     * @param username The username
+     * @return false if no user scanned by the last refresh or created by this node has the username
+     */
+    public boolean mightExist(String username) {
+        return mightContainHash(BloomFilter.hash(username));
+    }
+
+    /**
+     * Adds the username to the filter
+     *
+     * @param username The username
+     */
+    public void add(String username) {
+        addHash(BloomFilter.hash(username));
+    }
+
+
+    @Override
+    protected long addBatch(BloomFilter filter, long afterId, int batchSize) {
+        List<UserRepository.UsernameSummary> users = userRepository.findUsernamesAfter(afterId, PageRequest.ofSize(batchSize));
+        users.forEach(user -> filter.add(BloomFilter.hash(user.getUsername())));
+        return users.isEmpty() ? afterId : users.get(users.size() - 1).getId();
+    }
+}
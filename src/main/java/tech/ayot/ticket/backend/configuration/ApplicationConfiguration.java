@@ -1,24 +1,40 @@
 package tech.ayot.ticket.backend.configuration;
 
+import io.micrometer.core.instrument.Tags;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.HibernateMetrics;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import tech.ayot.ticket.backend.model.AuditorAwareImpl;
-import tech.ayot.ticket.backend.service.auth.AuthenticationService;
+import tech.ayot.ticket.backend.service.auth.CurrentUserHolder;
 
 @Configuration
 @EnableJpaAuditing(auditorAwareRef = "auditorProvider")
 public class ApplicationConfiguration {
 
-    private final AuthenticationService authenticationService;
+    private final CurrentUserHolder currentUserHolder;
 
-    public ApplicationConfiguration(AuthenticationService authenticationService) {
-        this.authenticationService = authenticationService;
+    public ApplicationConfiguration(CurrentUserHolder currentUserHolder) {
+        this.currentUserHolder = currentUserHolder;
     }
 
 
     @Bean
     public AuditorAwareImpl auditorProvider() {
-        return new AuditorAwareImpl(authenticationService);
+        return new AuditorAwareImpl(currentUserHolder);
+    }
+
+    /**
+     * Publishes Hibernate statistics as metrics, including hits, misses and puts of every second-level cache region
+     */
+    @Bean
+    public HibernateMetrics hibernateMetrics(EntityManagerFactory entityManagerFactory) {
+        return new HibernateMetrics(
+            entityManagerFactory.unwrap(SessionFactory.class),
+            "entityManagerFactory",
+            Tags.empty()
+        );
     }
 }
@@ -1,5 +1,8 @@
 package tech.ayot.ticket.backend.configuration;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -8,10 +11,21 @@ import org.springframework.security.config.annotation.authentication.builders.Au
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 import org.springframework.session.Session;
+import tech.ayot.ticket.backend.cache.SecurityVersionCache;
+import tech.ayot.ticket.backend.interceptor.TokenAuthenticationFilter;
+import tech.ayot.ticket.backend.model.enumuration.AuthenticationMode;
+import tech.ayot.ticket.backend.model.enumuration.Role;
+import tech.ayot.ticket.backend.service.auth.BoundedPasswordEncoder;
 import tech.ayot.ticket.backend.service.auth.SessionService;
+import tech.ayot.ticket.backend.service.auth.TokenService;
+
+import java.time.Duration;
 
 @Configuration
 @EnableWebSecurity
@@ -19,13 +33,19 @@ public class SecurityConfiguration {
 
     @Bean
     public SecurityFilterChain securityFilterChain(
-        HttpSecurity http
+        HttpSecurity http,
+        @Value("${auth.mode:SESSION}") AuthenticationMode authenticationMode,
+        ObjectProvider<TokenService> tokenService,
+        SecurityVersionCache securityVersionCache
     ) throws Exception {
         http
             .authorizeHttpRequests((requests) -> requests
                 // Swagger
                 .requestMatchers("/swagger-ui/**").permitAll()
                 .requestMatchers("/v3/api-docs/**").permitAll()
+                // Monitoring
+                .requestMatchers("/actuator/health").permitAll()
+                .requestMatchers("/actuator/**").hasAuthority(Role.SUPER_ADMIN.getTitle())
                 // Auth
                 .requestMatchers("/api/auth/**").permitAll()
                 // Other endpoints
@@ -33,24 +53,45 @@ public class SecurityConfiguration {
             )
             .csrf(AbstractHttpConfigurer::disable)
             .httpBasic(Customizer.withDefaults());
+
+        // Authenticate requests with tokens instead of sessions
+        if (authenticationMode == AuthenticationMode.TOKEN) {
+            http
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .addFilterBefore(
+                    new TokenAuthenticationFilter(tokenService.getObject(), securityVersionCache),
+                    BasicAuthenticationFilter.class
+                );
+        }
         return http.build();
     }
 
     @Bean
-    public BCryptPasswordEncoder bCryptPasswordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+        @Value("${auth.hashing.threads:4}") int threads,
+        @Value("${auth.hashing.queue-capacity:64}") int queueCapacity,
+        @Value("${auth.hashing.max-wait:5s}") Duration maxWait,
+        MeterRegistry meterRegistry
+    ) {
+        return new BoundedPasswordEncoder(
+            new BCryptPasswordEncoder(),
+            threads,
+            queueCapacity,
+            maxWait,
+            meterRegistry
+        );
     }
 
     @Bean
     public AuthenticationManager authenticationManager(
         HttpSecurity http,
-        BCryptPasswordEncoder bCryptPasswordEncoder,
+        PasswordEncoder passwordEncoder,
         SessionService<Session> sessionService
     ) throws Exception {
         AuthenticationManagerBuilder builder = http.getSharedObject(AuthenticationManagerBuilder.class);
         builder
             .userDetailsService(sessionService)
-            .passwordEncoder(bCryptPasswordEncoder);
+            .passwordEncoder(passwordEncoder);
         return builder.build();
     }
 }
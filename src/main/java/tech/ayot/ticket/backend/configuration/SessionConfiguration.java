@@ -0,0 +1,122 @@
+package tech.ayot.ticket.backend.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.session.JdbcSessionDataSourceScriptDatabaseInitializer;
+import org.springframework.boot.autoconfigure.session.JdbcSessionProperties;
+import org.springframework.boot.autoconfigure.session.SessionProperties;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.convert.support.GenericConversionService;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.session.config.annotation.web.http.EnableSpringHttpSession;
+import org.springframework.session.jdbc.JdbcIndexedSessionRepository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import tech.ayot.ticket.backend.repository.session.CachingSessionRepository;
+import tech.ayot.ticket.backend.repository.session.ExpiredSessionReaper;
+import tech.ayot.ticket.backend.repository.session.SessionAttributeConverter;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Configures the session store
+ * <p>
+ *     Spring Boot only configures the JDBC session repository when no other session repository is defined,
+ *     so it is configured here from the same {@code spring.session.jdbc} properties,
+ *     and {@link CachingSessionRepository} is put in front of it if {@code session.cache.enabled} is true.
+ * </p>
+ * <p>
+ *     Session attributes are stored by {@link SessionAttributeConverter}, set
+ *     {@code session.attributes.compact-format} to false while nodes that only read Java serialization are running.
+ * </p>
+ * <p>
+ *     Expired sessions are deleted by {@link ExpiredSessionReaper} instead of the repository's cleanup cron
+ *     if {@code session.reaper.enabled} is true.
+ * </p>
+ */
+@Configuration
+@EnableScheduling
+@EnableSpringHttpSession
+@EnableConfigurationProperties(JdbcSessionProperties.class)
+public class SessionConfiguration {
+
+    @Bean
+    public JdbcIndexedSessionRepository jdbcSessionRepository(
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        JdbcSessionProperties jdbcSessionProperties,
+        SessionProperties sessionProperties,
+        ServerProperties serverProperties,
+        SessionAttributeConverter sessionAttributeConverter,
+        @Value("${session.reaper.enabled:true}") boolean reaperEnabled
+    ) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        JdbcIndexedSessionRepository sessionRepository = new JdbcIndexedSessionRepository(
+            jdbcTemplate,
+            transactionTemplate
+        );
+        sessionRepository.setTableName(jdbcSessionProperties.getTableName());
+        if (reaperEnabled) {
+            sessionRepository.setCleanupCron(Scheduled.CRON_DISABLED);
+        } else {
+            sessionRepository.setCleanupCron(jdbcSessionProperties.getCleanupCron());
+        }
+        sessionRepository.setFlushMode(jdbcSessionProperties.getFlushMode());
+        sessionRepository.setSaveMode(jdbcSessionProperties.getSaveMode());
+        GenericConversionService conversionService = new GenericConversionService();
+        conversionService.addConverter(sessionAttributeConverter);
+        sessionRepository.setConversionService(conversionService);
+        Duration timeout = sessionProperties.determineTimeout(
+            () -> serverProperties.getServlet().getSession().getTimeout()
+        );
+        if (timeout != null) {
+            sessionRepository.setDefaultMaxInactiveInterval(timeout);
+        }
+        return sessionRepository;
+    }
+
+    @Bean
+    public SessionAttributeConverter sessionAttributeConverter(
+        @Value("${session.attributes.compact-format:true}") boolean compactFormat
+    ) {
+        return new SessionAttributeConverter(compactFormat, getClass().getClassLoader());
+    }
+
+    @Bean
+    public JdbcSessionDataSourceScriptDatabaseInitializer jdbcSessionDataSourceScriptDatabaseInitializer(
+        DataSource dataSource,
+        JdbcSessionProperties jdbcSessionProperties
+    ) {
+        return new JdbcSessionDataSourceScriptDatabaseInitializer(dataSource, jdbcSessionProperties);
+    }
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "session.cache.enabled", havingValue = "true", matchIfMissing = true)
+    public CachingSessionRepository cachingSessionRepository(
+        JdbcIndexedSessionRepository jdbcSessionRepository,
+        @Value("${session.cache.ttl:30s}") Duration ttl,
+        @Value("${session.cache.max-entries:10000}") int maxEntries,
+        @Value("${session.last-access-update-interval:1m}") Duration lastAccessUpdateInterval,
+        MeterRegistry meterRegistry
+    ) {
+        return new CachingSessionRepository(
+            jdbcSessionRepository,
+            ttl,
+            maxEntries,
+            lastAccessUpdateInterval,
+            meterRegistry
+        );
+    }
+}
@@ -3,11 +3,19 @@ package tech.ayot.ticket.backend.dto.auth;
 import org.springframework.security.core.GrantedAuthority;
 import tech.ayot.ticket.backend.model.enumuration.Role;
 
+import java.io.Serial;
+
 /**
  * Data Transfer Object for user role
  */
 public class GrantedRoleDto implements GrantedAuthority {
 
+    /**
+     * Pinned to the original computed value, roles are stored in legacy sessions
+     */
+    @Serial
+    private static final long serialVersionUID = 4094258376785769095L;
+
     /**
      * The product's ID
      * <p>
@@ -0,0 +1,82 @@
+package tech.ayot.ticket.backend.dto.auth;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Immutable index of a user's role levels
+ * <p>
+ *     Holds the highest root level and the highest level in each product in an open addressing table,
+ *     so role checks are lookups of primitives without allocations.
+ * </p>
+ */
+public final class RoleIndex {
+
+    /**
+     * Level of missing roles, lower than the level of any role
+     */
+    public static final int NO_LEVEL = -1;
+
+
+    private final int rootLevel;
+
+    private final long[] productIds;
+
+    private final int[] levels;
+
+    private final int mask;
+
+    public RoleIndex(Collection<GrantedRoleDto> roles) {
+        int capacity = Integer.highestOneBit(Math.max(roles.size(), 1) * 2 - 1) << 1;
+        this.productIds = new long[capacity];
+        this.levels = new int[capacity];
+        this.mask = capacity - 1;
+        Arrays.fill(levels, NO_LEVEL);
+
+        int rootLevel = NO_LEVEL;
+        for (GrantedRoleDto role : roles) {
+            int level = role.getRole().getLevel();
+            if (role.getProductId() == null) {
+                rootLevel = Math.max(rootLevel, level);
+                continue;
+            }
+
+            int slot = slot(role.getProductId());
+            while (levels[slot] != NO_LEVEL && productIds[slot] != role.getProductId()) {
+                slot = (slot + 1) & mask;
+            }
+            productIds[slot] = role.getProductId();
+            levels[slot] = Math.max(levels[slot], level);
+        }
+        this.rootLevel = rootLevel;
+    }
+
+
+    /**
+     * @return The highest level of the user's root roles, {@link #NO_LEVEL} if there is none
+     */
+    public int getRootLevel() {
+        return rootLevel;
+    }
+
+    /**
+     * @param productId The product id
+     * @return The highest level of the user's roles in the product, including root roles
+     */
+    public int getLevel(long productId) {
+        int slot = slot(productId);
+        while (levels[slot] != NO_LEVEL) {
+            if (productIds[slot] == productId) {
+                return Math.max(rootLevel, levels[slot]);
+            }
+            slot = (slot + 1) & mask;
+        }
+        return rootLevel;
+    }
+
+
+    private int slot(long productId) {
+        long hash = productId * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
@@ -3,6 +3,9 @@ package tech.ayot.ticket.backend.dto.auth;
 import org.springframework.security.core.userdetails.UserDetails;
 import tech.ayot.ticket.backend.model.user.User;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serial;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
@@ -15,6 +18,12 @@ import java.util.stream.Collectors;
  */
 public class UserDto implements UserDetails {
 
+    /**
+     * Pinned to the value computed before the class had other constructors, so legacy sessions stay readable
+     */
+    @Serial
+    private static final long serialVersionUID = -8309332950373074961L;
+
     /**
      * The user's ID
      */
@@ -40,6 +49,11 @@ public class UserDto implements UserDetails {
      */
     private final List<GrantedRoleDto> roles;
 
+    /**
+     * Index of the roles' levels, rebuilt when the user is deserialized
+     */
+    private transient RoleIndex roleIndex;
+
     public UserDto(User user) {
         this.id = user.getId();
         this.username = user.getUsername();
@@ -56,6 +70,22 @@ public class UserDto implements UserDetails {
                 );
             }
         ).collect(Collectors.toList());
+        this.roleIndex = new RoleIndex(roles);
+    }
+
+    public UserDto(
+        Long id,
+        String username,
+        String password,
+        Date modifiedDate,
+        List<GrantedRoleDto> roles
+    ) {
+        this.id = id;
+        this.username = username;
+        this.password = password;
+        this.modifiedDate = modifiedDate;
+        this.roles = roles;
+        this.roleIndex = new RoleIndex(roles);
     }
 
 
@@ -71,6 +101,10 @@ public class UserDto implements UserDetails {
         return roles;
     }
 
+    public RoleIndex getRoleIndex() {
+        return roleIndex;
+    }
+
 
     @Override
     public Collection<GrantedRoleDto> getAuthorities() {
@@ -106,4 +140,11 @@ public class UserDto implements UserDetails {
     public boolean isAccountNonLocked() {
         return true;
     }
+
+
+    @Serial
+    private void readObject(ObjectInputStream input) throws IOException, ClassNotFoundException {
+        input.defaultReadObject();
+        roleIndex = new RoleIndex(roles);
+    }
 }
@@ -0,0 +1,13 @@
+package tech.ayot.ticket.backend.dto.auth.response;
+
+/**
+ * Response body of username availability request.
+ *
+ * @see tech.ayot.ticket.backend.service.auth.AuthenticationService AuthenticationService
+ * @see tech.ayot.ticket.backend.model.user.User User
+ */
+public record UsernameAvailabilityResponse(
+    String username,
+    boolean available
+) {
+}
@@ -0,0 +1,9 @@
+package tech.ayot.ticket.backend.dto.product;
+
+public record ProductDto(
+    Long id,
+    String name,
+    String description,
+    String imageId
+) {
+}
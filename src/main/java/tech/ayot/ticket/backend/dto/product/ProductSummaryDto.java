@@ -0,0 +1,7 @@
+package tech.ayot.ticket.backend.dto.product;
+
+public record ProductSummaryDto(
+    Long id,
+    String name
+) {
+}
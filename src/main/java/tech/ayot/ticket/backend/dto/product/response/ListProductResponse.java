@@ -0,0 +1,17 @@
+package tech.ayot.ticket.backend.dto.product.response;
+
+import tech.ayot.ticket.backend.dto.product.ProductDto;
+
+import java.util.List;
+
+/**
+ * Response body of list product requests.
+ * <p>
+ *     Products are sorted by id, nextCursor is null on the last page.
+ * </p>
+ */
+public record ListProductResponse(
+    List<ProductDto> content,
+    Long nextCursor
+) {
+}
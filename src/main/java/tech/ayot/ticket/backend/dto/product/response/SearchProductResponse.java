@@ -0,0 +1,16 @@
+package tech.ayot.ticket.backend.dto.product.response;
+
+import tech.ayot.ticket.backend.dto.product.ProductSummaryDto;
+
+import java.util.List;
+
+/**
+ * Response body of search product requests.
+ * <p>
+ *     Products whose name starts with the query come first, the rest are sorted by similarity.
+ * </p>
+ */
+public record SearchProductResponse(
+    List<ProductSummaryDto> content
+) {
+}
@@ -0,0 +1,36 @@
+package tech.ayot.ticket.backend.dto.ticket;
+
+/**
+ * Represents the pagination strategy of list requests
+ */
+public enum PaginationMode {
+
+    /**
+     * Pages are addressed by their number and the total number of pages is counted
+     */
+    OFFSET,
+
+    /**
+     * Pages are addressed by an opaque cursor pointing after the last returned item
+     * <p>
+     *     Latency does not depend on how deep the client has scrolled
+     * </p>
+     */
+    CURSOR,
+
+    /**
+     * Pages are addressed by their number, but only the existence of a next page is reported
+     * <p>
+     *     No count query is run
+     * </p>
+     */
+    SLICE,
+
+    /**
+     * Pages are addressed by their number and the total number of pages is estimated
+     * <p>
+     *     Totals come from a cache of per-filter counts, so they may be stale for a bounded period
+     * </p>
+     */
+    APPROXIMATE,
+}
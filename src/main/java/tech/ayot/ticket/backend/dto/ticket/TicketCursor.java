@@ -0,0 +1,88 @@
+package tech.ayot.ticket.backend.dto.ticket;
+
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Represents position of the last ticket returned by a cursor-paginated list request
+ * <p>
+ *     The cursor is exposed to clients as an opaque URL-safe string
+ * </p>
+ *
+ * @param order     The sort key, either {@value #ORDER_ID} or {@value #ORDER_CREATION_DATE}
+ * @param direction The sort direction
+ * @param key       The value of the sort key of the last ticket
+ * @param id        The id of the last ticket
+ */
+public record TicketCursor(
+    String order,
+    Sort.Direction direction,
+    long key,
+    long id
+) {
+
+    public static final String ORDER_ID = "id";
+
+    public static final String ORDER_CREATION_DATE = "creationDate";
+
+    private static final String VERSION = "1";
+
+    private static final String SEPARATOR = ":";
+
+
+    /**
+     * @param order The sort key
+     * @return true if cursor pagination supports ordering by the key
+     */
+    public static boolean supportsOrder(String order) {
+        return ORDER_ID.equals(order) || ORDER_CREATION_DATE.equals(order);
+    }
+
+    /**
+     * @param order     The sort key
+     * @param direction The sort direction
+     * @param ticket    The last ticket of the page
+     * @return Cursor pointing after the ticket
+     */
+    public static TicketCursor of(String order, Sort.Direction direction, TicketDto ticket) {
+        long key = ORDER_CREATION_DATE.equals(order) ? ticket.created().getTime() : ticket.ticketId();
+        return new TicketCursor(order, direction, key, ticket.ticketId());
+    }
+
+    /**
+     * @param value The encoded cursor
+     * @return The decoded cursor
+     * @throws IllegalArgumentException If the value is not a valid cursor
+     */
+    public static TicketCursor decode(String value) {
+        String decoded = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+        String[] parts = decoded.split(SEPARATOR);
+        if (parts.length != 5 || !VERSION.equals(parts[0]) || !supportsOrder(parts[1])) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return new TicketCursor(
+            parts[1],
+            Sort.Direction.fromString(parts[2]),
+            Long.parseLong(parts[3]),
+            Long.parseLong(parts[4])
+        );
+    }
+
+
+    /**
+     * @return The cursor as an opaque URL-safe string
+     */
+    public String encode() {
+        String value = String.join(
+            SEPARATOR,
+            VERSION,
+            order,
+            direction.name(),
+            Long.toString(key),
+            Long.toString(id)
+        );
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,40 +1,49 @@
 package tech.ayot.ticket.backend.dto.ticket.request;
 
-import jakarta.validation.constraints.NotNull;
 import org.springframework.data.domain.Sort;
+import tech.ayot.ticket.backend.dto.ticket.PaginationMode;
 import tech.ayot.ticket.backend.model.enumuration.TicketStatus;
 import tech.ayot.ticket.backend.model.enumuration.TicketType;
 
 import java.util.Date;
 
 public record ListTicketRequest(
-    @NotNull Integer page,
+    PaginationMode mode,
+    Integer page,
+    String cursor,
     Integer pageSize,
     String order,
     Sort.Direction direction,
     TicketType type,
     String productName,
+    Long productId,
     Date createdAfter,
     Date createdBefore,
     TicketStatus status
 ) {
     public ListTicketRequest(
+        PaginationMode mode,
         Integer page,
+        String cursor,
         Integer pageSize,
         String order,
         Sort.Direction direction,
         TicketType type,
         String productName,
+        Long productId,
         Date createdAfter,
         Date createdBefore,
         TicketStatus status
     ) {
+        this.mode = mode;
         this.page = page;
+        this.cursor = cursor;
         this.pageSize = pageSize;
         this.order = order;
         this.direction = direction;
         this.type = type;
         this.productName = productName;
+        this.productId = productId;
         this.createdAfter = createdAfter;
         this.createdBefore = createdBefore;
         this.status = status;
@@ -0,0 +1,19 @@
+package tech.ayot.ticket.backend.dto.ticket.response;
+
+import tech.ayot.ticket.backend.dto.ticket.MessageDto;
+
+import java.util.List;
+
+/**
+ * Response body of list message request.
+ * <p>
+ *     nextAfterId should be passed as afterId to fetch the next page.
+ *     It is the id of the last returned message, so it can also be used to poll for new messages.
+ * </p>
+ */
+public record ListMessageResponse(
+    List<MessageDto> content,
+    Boolean hasNext,
+    Long nextAfterId
+) {
+}
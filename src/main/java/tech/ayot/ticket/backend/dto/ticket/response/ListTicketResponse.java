@@ -4,10 +4,19 @@ import tech.ayot.ticket.backend.dto.ticket.TicketDto;
 
 import java.util.List;
 
+/**
+ * Response body of list ticket requests.
+ * <p>
+ *     totalPages is null in cursor and slice modes, and approximate is true if it is an estimate.
+ * </p>
+ */
 public record ListTicketResponse(
     Integer totalPages,
+    Boolean approximate,
     Integer pageNumber,
     Integer pageSize,
-    List<TicketDto> content
+    Boolean hasNext,
+    List<TicketDto> content,
+    String nextCursor
 ) {
 }
@@ -0,0 +1,16 @@
+package tech.ayot.ticket.backend.dto.ticket.response;
+
+import tech.ayot.ticket.backend.dto.ticket.TicketDto;
+
+import java.util.List;
+
+/**
+ * Response body of search ticket requests.
+ * <p>
+ *     Tickets are sorted by relevance, most relevant first.
+ * </p>
+ */
+public record SearchTicketResponse(
+    List<TicketDto> content
+) {
+}
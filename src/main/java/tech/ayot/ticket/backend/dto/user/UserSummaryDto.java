@@ -0,0 +1,9 @@
+package tech.ayot.ticket.backend.dto.user;
+
+public record UserSummaryDto(
+    Long id,
+    String username,
+    String firstName,
+    String lastName
+) {
+}
@@ -0,0 +1,16 @@
+package tech.ayot.ticket.backend.dto.user.response;
+
+import tech.ayot.ticket.backend.dto.user.UserSummaryDto;
+
+import java.util.List;
+
+/**
+ * Response body of search user requests.
+ * <p>
+ *     Users whose username starts with the query come first, the rest are sorted by similarity.
+ * </p>
+ */
+public record SearchUserResponse(
+    List<UserSummaryDto> content
+) {
+}
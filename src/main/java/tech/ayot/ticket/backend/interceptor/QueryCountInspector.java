@@ -0,0 +1,30 @@
+package tech.ayot.ticket.backend.interceptor;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * This class counts SQL statements prepared by Hibernate on each thread
+ * <p>
+ *     Callers take the difference of {@link #count()} before and after an operation
+ *     to find out how many statements the operation has executed.
+ * </p>
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+
+    /**
+     * @return Number of statements prepared on the current thread so far
+     */
+    public static long count() {
+        return COUNT.get()[0];
+    }
+
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+}
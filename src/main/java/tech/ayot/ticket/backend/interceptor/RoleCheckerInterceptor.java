@@ -2,12 +2,15 @@ package tech.ayot.ticket.backend.interceptor;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.http.HttpStatus;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
 import tech.ayot.ticket.backend.annotation.CheckRole;
 import tech.ayot.ticket.backend.configuration.WebMvcConfiguration;
 import tech.ayot.ticket.backend.model.enumuration.Role;
@@ -15,17 +18,39 @@ import tech.ayot.ticket.backend.service.auth.RoleService;
 
 import java.lang.reflect.Method;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * This class checks access to the called method using [CheckRole] annotations declared on the method
+ * <p>
+ *     The annotations of all handler methods are resolved once at startup into access rules.
+ * </p>
  */
 @Component
-public class RoleCheckerInterceptor implements HandlerInterceptor {
+public class RoleCheckerInterceptor implements HandlerInterceptor, SmartInitializingSingleton {
 
     private final RoleService roleService;
 
-    public RoleCheckerInterceptor(RoleService roleService) {
+    private final ObjectProvider<RequestMappingHandlerMapping> handlerMappings;
+
+    private final Map<Method, AccessRule> accessRules = new ConcurrentHashMap<>();
+
+    public RoleCheckerInterceptor(
+        RoleService roleService,
+        ObjectProvider<RequestMappingHandlerMapping> handlerMappings
+    ) {
         this.roleService = roleService;
+        this.handlerMappings = handlerMappings;
+    }
+
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        handlerMappings.orderedStream().forEach(handlerMapping ->
+            handlerMapping.getHandlerMethods().values().forEach(handlerMethod ->
+                accessRules.computeIfAbsent(handlerMethod.getMethod(), AccessRule::of)
+            )
+        );
     }
 
     @Override
@@ -34,35 +59,30 @@ public class RoleCheckerInterceptor implements HandlerInterceptor {
         @NonNull HttpServletResponse response,
         @NonNull Object handler
     ) {
-        if (!(handler instanceof HandlerMethod)) return true;
+        if (!(handler instanceof HandlerMethod handlerMethod)) return true;
 
-        // Get CheckRole annotation
-        Method method = ((HandlerMethod) handler).getMethod();
-        if (!method.isAnnotationPresent(CheckRole.class)) return true;
-        CheckRole checkRoleAnnotation = method.getAnnotation(CheckRole.class);
+        // Get access rule, handler methods that were not mapped at startup are resolved once
+        AccessRule accessRule = accessRules.computeIfAbsent(handlerMethod.getMethod(), AccessRule::of);
+        if (accessRule == AccessRule.NONE) return true;
 
         boolean hasRole = true;
-        if (!(checkRoleAnnotation.role() == Role.GUEST)) {
+        if (accessRule.role() != Role.GUEST) {
             // Get product ID from request path variables
-            Map<String, String> pathVariablesMap;
-            try {
-                //noinspection unchecked
-                pathVariablesMap = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
-            } catch (ClassCastException e) {
+            if (!(request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE) instanceof Map<?, ?> pathVariablesMap)
+                || !(pathVariablesMap.get(WebMvcConfiguration.PRODUCT_ID_PATH_VARIABLE_NAME) instanceof String productIdString)) {
                 response.setStatus(HttpStatus.FORBIDDEN.value());
                 return false;
             }
-            String productIdString = pathVariablesMap.get(WebMvcConfiguration.PRODUCT_ID_PATH_VARIABLE_NAME);
-            if (productIdString == null) {
-                response.setStatus(HttpStatus.FORBIDDEN.value());
+            long productId = parseProductId(productIdString);
+            if (productId < 0) {
+                response.setStatus(HttpStatus.BAD_REQUEST.value());
                 return false;
             }
-            long productId = Integer.parseInt(productIdString);
 
-            hasRole &= roleService.userHasRole(productId, checkRoleAnnotation.role());
+            hasRole &= roleService.userHasRole(productId, accessRule.role());
         }
-        if (!(checkRoleAnnotation.rootRole() == Role.GUEST)) {
-            hasRole &= roleService.userHasRole(null, checkRoleAnnotation.rootRole());
+        if (accessRule.rootRole() != Role.GUEST) {
+            hasRole &= roleService.userHasRootRole(accessRule.rootRole());
         }
 
         if (!hasRole) {
@@ -71,4 +91,50 @@ public class RoleCheckerInterceptor implements HandlerInterceptor {
 
         return hasRole;
     }
-}
\ No newline at end of file
+
+
+    /**
+     * Parses a product id without allocating, unlike {@link Long#parseLong} it does not throw for invalid ids
+     *
+     * @param productIdString The product id
+     * @return The product id, -1 if it is not a non-negative long
+     */
+    static long parseProductId(String productIdString) {
+        int length = productIdString.length();
+        if (length == 0 || length > 19) {
+            return -1;
+        }
+        long productId = 0;
+        for (int i = 0; i < length; i++) {
+            int digit = productIdString.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            productId = productId * 10 + digit;
+            if (productId < 0) {
+                return -1;
+            }
+        }
+        return productId;
+    }
+
+
+    /**
+     * Roles required to call a handler method
+     *
+     * @param role     The role in the product, GUEST means no role is required
+     * @param rootRole The role in all products, GUEST means no role is required
+     */
+    private record AccessRule(Role role, Role rootRole) {
+
+        private static final AccessRule NONE = new AccessRule(Role.GUEST, Role.GUEST);
+
+        private static AccessRule of(Method method) {
+            CheckRole checkRole = method.getAnnotation(CheckRole.class);
+            if (checkRole == null || checkRole.role() == Role.GUEST && checkRole.rootRole() == Role.GUEST) {
+                return NONE;
+            }
+            return new AccessRule(checkRole.role(), checkRole.rootRole());
+        }
+    }
+}
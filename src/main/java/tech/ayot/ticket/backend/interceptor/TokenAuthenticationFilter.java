@@ -0,0 +1,82 @@
+package tech.ayot.ticket.backend.interceptor;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationToken;
+import org.springframework.web.filter.OncePerRequestFilter;
+import tech.ayot.ticket.backend.cache.SecurityVersionCache;
+import tech.ayot.ticket.backend.dto.auth.UserDto;
+import tech.ayot.ticket.backend.service.auth.TokenService;
+
+import java.io.IOException;
+
+/**
+ * This class authenticates requests with the token in their Authorization header
+ * <p>
+ *     Roles in a token are only trusted while the security version of its user is unchanged,
+ *     otherwise the request is authenticated with the user's current roles.
+ *     A new token is returned in the Authorization header of the response if the token is stale
+ *     or past half its lifetime.
+ * </p>
+ */
+public class TokenAuthenticationFilter extends OncePerRequestFilter {
+
+    public static final String BEARER_PREFIX = "Bearer ";
+
+    private final TokenService tokenService;
+
+    private final SecurityVersionCache securityVersionCache;
+
+    public TokenAuthenticationFilter(TokenService tokenService, SecurityVersionCache securityVersionCache) {
+        this.tokenService = tokenService;
+        this.securityVersionCache = securityVersionCache;
+    }
+
+
+    /**
+     * @param request The HTTP request
+     * @return The request's token, null if it has none
+     */
+    public static String getToken(HttpServletRequest request) {
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+            return null;
+        }
+        return authorization.substring(BEARER_PREFIX.length());
+    }
+
+    @Override
+    protected void doFilterInternal(
+        @NonNull HttpServletRequest request,
+        @NonNull HttpServletResponse response,
+        @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        String token = getToken(request);
+        TokenService.VerifiedToken verifiedToken = token != null ? tokenService.verifyToken(token) : null;
+        if (verifiedToken != null) {
+            UserDto userDto = verifiedToken.user();
+            UserDto updatedUserDto = securityVersionCache.getUpdatedUser(userDto);
+            if (updatedUserDto != null) {
+                userDto = updatedUserDto;
+            }
+            if (updatedUserDto != null || tokenService.shouldRenew(verifiedToken)) {
+                response.setHeader(HttpHeaders.AUTHORIZATION, BEARER_PREFIX + tokenService.createToken(userDto));
+            }
+
+            SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
+            securityContext.setAuthentication(new PreAuthenticatedAuthenticationToken(
+                userDto,
+                null,
+                userDto.getAuthorities()
+            ));
+            SecurityContextHolder.setContext(securityContext);
+        }
+        filterChain.doFilter(request, response);
+    }
+}
@@ -4,23 +4,29 @@ import org.springframework.data.domain.AuditorAware;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 import tech.ayot.ticket.backend.model.user.User;
-import tech.ayot.ticket.backend.service.auth.AuthenticationService;
+import tech.ayot.ticket.backend.service.auth.CurrentUserHolder;
 
 import java.util.Optional;
 
+/**
+ * Provides the current logged-in user for auditing
+ * <p>
+ *     The user is an uninitialized reference shared by all saves of the request, so auditing never loads the user.
+ * </p>
+ */
 @Component
 public class AuditorAwareImpl implements AuditorAware<User> {
 
-    private final AuthenticationService authenticationService;
+    private final CurrentUserHolder currentUserHolder;
 
-    public AuditorAwareImpl(AuthenticationService authenticationService) {
-        this.authenticationService = authenticationService;
+    public AuditorAwareImpl(CurrentUserHolder currentUserHolder) {
+        this.currentUserHolder = currentUserHolder;
     }
 
     @NonNull
     @Override
     public Optional<User> getCurrentAuditor() {
-        User user = authenticationService.getCurrentUser();
+        User user = currentUserHolder.getUserReference();
         if (user == null) {
             return Optional.empty();
         }
@@ -0,0 +1,17 @@
+package tech.ayot.ticket.backend.model.enumuration;
+
+/**
+ * Represents how logged-in users are remembered between requests
+ */
+public enum AuthenticationMode {
+
+    /**
+     * User is stored in the session store and identified by the session cookie
+     */
+    SESSION,
+
+    /**
+     * User is stored in a signed token sent in the Authorization header
+     */
+    TOKEN,
+}
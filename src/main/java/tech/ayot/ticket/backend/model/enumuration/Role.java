@@ -55,4 +55,18 @@ public enum Role {
     public Integer getLevel() {
         return level;
     }
+
+
+    /**
+     * @param level The role's access level
+     * @return The role with the access level, null if there is none
+     */
+    public static Role ofLevel(int level) {
+        for (Role role : values()) {
+            if (role.level == level) {
+                return role;
+            }
+        }
+        return null;
+    }
 }
@@ -1,8 +1,13 @@
 package tech.ayot.ticket.backend.model.product;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import tech.ayot.ticket.backend.cache.ExistenceFilterListener;
 import tech.ayot.ticket.backend.model.BaseModel;
 
 /**
@@ -10,6 +15,9 @@ import tech.ayot.ticket.backend.model.BaseModel;
  */
 @Entity
 @Table(name = "products")
+@EntityListeners({ExistenceFilterListener.class})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Product extends BaseModel {
 
     /**
@@ -2,12 +2,13 @@ package tech.ayot.ticket.backend.model.ticket;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 import tech.ayot.ticket.backend.model.BaseModel;
 
 @Entity
-@Table(name = "messages")
+@Table(name = "messages", indexes = @Index(name = "idx_messages_ticket_id", columnList = "ticket_id,id"))
 public class Message extends BaseModel {
 
     @ManyToOne
@@ -9,7 +9,12 @@ import tech.ayot.ticket.backend.model.product.Product;
 import java.util.Date;
 
 @Entity
-@Table(name = "tickets")
+@Table(name = "tickets", indexes = {
+    @Index(name = "idx_tickets_product_creation_date", columnList = "product_id,creation_date,id"),
+    @Index(name = "idx_tickets_product_status_type", columnList = "product_id,status,type,creation_date"),
+    @Index(name = "idx_tickets_creator_creation_date", columnList = "created_by_id,creation_date,id"),
+    @Index(name = "idx_tickets_creator_status_type", columnList = "created_by_id,status,type,creation_date"),
+})
 public class Ticket extends BaseModel {
 
     @Enumerated(EnumType.STRING)
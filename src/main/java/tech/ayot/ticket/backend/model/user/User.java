@@ -1,7 +1,10 @@
 package tech.ayot.ticket.backend.model.user;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.envers.AuditMappedBy;
+import tech.ayot.ticket.backend.cache.ExistenceFilterListener;
 import tech.ayot.ticket.backend.model.BaseModel;
 
 import java.util.ArrayList;
@@ -12,6 +15,9 @@ import java.util.List;
  */
 @Entity
 @Table(name = "users")
+@EntityListeners({ExistenceFilterListener.class})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class User extends BaseModel {
 
     public static final String USERNAME_REGEX = "[a-zA-Z0-9_]{1,64}";
@@ -33,8 +39,14 @@ public class User extends BaseModel {
 
     /**
      * Represents relationship between the user and products
+     * <p>
+     *     The cached collection is evicted by
+     *     {@link tech.ayot.ticket.backend.cache.UserProductsCacheListener UserProductsCacheListener}
+     *     when a user product is saved on its own.
+     * </p>
      */
     @OneToMany(cascade = {CascadeType.ALL}, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @AuditMappedBy(mappedBy = "user")
     @JoinColumn(name = "user_id")
     List<UserProduct> userProducts = new ArrayList<>();
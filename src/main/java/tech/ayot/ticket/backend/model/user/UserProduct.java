@@ -1,6 +1,9 @@
 package tech.ayot.ticket.backend.model.user;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import tech.ayot.ticket.backend.cache.UserProductsCacheListener;
 import tech.ayot.ticket.backend.model.enumuration.Role;
 import tech.ayot.ticket.backend.model.BaseModel;
 import tech.ayot.ticket.backend.model.product.Product;
@@ -10,6 +13,9 @@ import tech.ayot.ticket.backend.model.product.Product;
  */
 @Entity
 @Table(name = "user_products", indexes = @Index(columnList = "user_id,product_id", unique = true))
+@EntityListeners({UserProductsCacheListener.class})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class UserProduct extends BaseModel {
 
     /**
@@ -0,0 +1,22 @@
+package tech.ayot.ticket.backend.repository;
+
+/**
+ * Builds LIKE patterns from user input
+ */
+public final class SearchPatterns {
+
+    private SearchPatterns() {
+    }
+
+
+    /**
+     * @param text The text, LIKE wildcards in it are matched literally
+     * @return Pattern matching values starting with the text
+     */
+    public static String startsWith(String text) {
+        return text
+            .replace("\\", "\\\\")
+            .replace("%", "\\%")
+            .replace("_", "\\_") + "%";
+    }
+}
@@ -1,13 +1,120 @@
 package tech.ayot.ticket.backend.repository.product;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import tech.ayot.ticket.backend.dto.product.ProductDto;
 import tech.ayot.ticket.backend.model.product.Product;
 
+import java.util.Date;
+import java.util.List;
+
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
 
     boolean existsProductByName(String name);
 
-    Product findProductById(Long id);
+    /**
+     * Finds a product by its id
+     * <p>
+     *     Unlike a query, this is served by the second-level cache.
+     * </p>
+     *
+     * @param id The product's id
+     * @return The product, or null if there is no product with this id
+     */
+    default Product findProductById(Long id) {
+        return findById(id).orElse(null);
+    }
+
+    @Query("select p.id from Product p where p.name = :name")
+    Long findIdByName(String name);
+
+    /**
+     * Lists products after the cursor
+     *
+     * @param cursor   The products' ids are greater than this id
+     * @param pageable The maximum number of products to return
+     * @return Products in ascending order of ids
+     */
+    @Query(
+        "select new tech.ayot.ticket.backend.dto.product.ProductDto(p.id, p.name, p.description, p.imageId) " +
+            "from Product p where p.id > :cursor order by p.id"
+    )
+    List<ProductDto> findProductDtosAfter(long cursor, Pageable pageable);
+
+    /**
+     * @return Version of all products, it changes whenever a product is created, updated or deleted
+     */
+    @Query(
+        "select count(p.id) as count, max(p.lastModifiedDate) as lastModifiedDate, " +
+            "coalesce(sum(p.version), 0) as versionSum from Product p"
+    )
+    CatalogVersion findCatalogVersion();
+
+    /**
+     * Deletes the product with a single statement, unless it has a ticket
+     *
+     * @param id The product's id
+     * @return 1 if the product is deleted, 0 if it does not exist or has a ticket
+     */
+    @Modifying
+    @Query("delete from Product p where p.id = :id and not exists (select t.id from Ticket t where t.product.id = :id)")
+    int deleteByIdIfItHasNoTicket(Long id);
+
+    /**
+     * @param afterId  The products' ids are greater than this id
+     * @param pageable The maximum number of ids to return
+     * @return Ids of products in ascending order
+     */
+    @Query("select p.id from Product p where p.id > :afterId order by p.id")
+    List<Long> findIdsAfter(long afterId, Pageable pageable);
+
+    /**
+     * Searches products by name
+     * <p>
+     *     Both conditions are served by the trigram index idx_products_name_trgm created by {@code schema.sql}.
+     * </p>
+     *
+     * @param query  The search query
+     * @param prefix LIKE pattern matching names starting with the query
+     * @param limit  The maximum number of products to return
+     * @return Products whose name starts with or is similar to the query, prefix matches first
+     */
+    @Query(
+        value = "select p.id as id, p.name as name from products p " +
+            "where p.name ilike :prefix or p.name % :query " +
+            "order by p.name ilike :prefix desc, similarity(p.name, :query) desc, p.name " +
+            "limit :limit",
+        nativeQuery = true
+    )
+    List<ProductSummary> searchByName(String query, String prefix, int limit);
+
+
+    /**
+     * Projection of the version of all products
+     * <p>
+     *     Creating or deleting a product changes the count, and updating one changes the version sum.
+     * </p>
+     */
+    interface CatalogVersion {
+
+        Long getCount();
+
+        Date getLastModifiedDate();
+
+        Long getVersionSum();
+    }
+
+    /**
+     * Projection of product search results
+     */
+    interface ProductSummary {
+
+        Long getId();
+
+        String getName();
+    }
 }
@@ -0,0 +1,353 @@
+package tech.ayot.ticket.backend.repository.session;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.MapSession;
+import org.springframework.session.Session;
+import tech.ayot.ticket.backend.cache.ExpiringMap;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Session repository keeping recently used sessions of its delegate in memory
+ * <p>
+ *     A session is loaded and its attributes are deserialized at most once per ttl,
+ *     later requests get a copy of the cached session without querying the database.
+ *     Changes are written through to the delegate when the session is saved.
+ * </p>
+ * <p>
+ *     Sessions saved without this repository (e.g. after being found by index) and deleted sessions are evicted.
+ *     Changes made by other nodes are visible after at most ttl.
+ * </p>
+ * <p>
+ *     To avoid turning every request into a write, the last access time is only stored
+ *     when the stored one is older than lastAccessUpdateInterval, and only attributes that were actually
+ *     changed are written. The interval should be much shorter than the session timeout,
+ *     the cache keeps track of the exact last access time of the sessions it serves.
+ * </p>
+ */
+public class CachingSessionRepository implements FindByIndexNameSessionRepository<Session> {
+
+    private static final String CACHE_NAME = "sessions";
+
+
+    private final FindByIndexNameSessionRepository<Session> delegate;
+
+    private final long ttlMillis;
+
+    private final Duration lastAccessUpdateInterval;
+
+    private final ExpiringMap<String, Entry> sessions;
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    private final Counter avoidedLastAccessWrites;
+
+    private final Counter avoidedAttributeWrites;
+
+    @SuppressWarnings("unchecked")
+    public CachingSessionRepository(
+        FindByIndexNameSessionRepository<? extends Session> delegate,
+        Duration ttl,
+        int maxEntries,
+        Duration lastAccessUpdateInterval,
+        MeterRegistry meterRegistry
+    ) {
+        this.delegate = (FindByIndexNameSessionRepository<Session>) delegate;
+        this.ttlMillis = ttl.toMillis();
+        this.sessions = new ExpiringMap<>(ttl, maxEntries);
+        this.lastAccessUpdateInterval = lastAccessUpdateInterval;
+        this.hits = Counter.builder("cache.gets")
+            .description("Sessions found in the session cache")
+            .tag("cache", CACHE_NAME)
+            .tag("result", "hit")
+            .register(meterRegistry);
+        this.misses = Counter.builder("cache.gets")
+            .description("Sessions loaded from the session store")
+            .tag("cache", CACHE_NAME)
+            .tag("result", "miss")
+            .register(meterRegistry);
+        Gauge.builder("cache.size", sessions, ExpiringMap::size)
+            .description("Sessions in the session cache")
+            .tag("cache", CACHE_NAME)
+            .register(meterRegistry);
+        this.avoidedLastAccessWrites = Counter.builder("sessions.writes.avoided")
+            .description("Session writes skipped because the stored last access time was recent enough")
+            .tag("type", "last-access")
+            .register(meterRegistry);
+        this.avoidedAttributeWrites = Counter.builder("sessions.writes.avoided")
+            .description("Session attribute writes skipped because the attribute was set to an equal value")
+            .tag("type", "attribute")
+            .register(meterRegistry);
+    }
+
+
+    @Override
+    public Session createSession() {
+        return new CachedSession(new Entry(delegate.createSession(), System.currentTimeMillis()), true);
+    }
+
+    @Override
+    public void save(Session session) {
+        if (!(session instanceof CachedSession cachedSession)) {
+            delegate.save(session);
+            sessions.remove(session.getId());
+            return;
+        }
+
+        Entry entry = cachedSession.entry;
+        String previousId;
+        String id;
+        synchronized (entry) {
+            previousId = entry.session.getId();
+            if (cachedSession.applyChanges() || cachedSession.isNew) {
+                delegate.save(entry.session);
+            }
+            id = entry.session.getId();
+        }
+
+        if (cachedSession.isNew) {
+            put(id, entry);
+        } else if (!id.equals(previousId) && sessions.remove(previousId, entry)) {
+            put(id, entry);
+        }
+    }
+
+    @Override
+    public Session findById(String id) {
+        Entry entry = sessions.get(id);
+        if (entry != null) {
+            CachedSession session = new CachedSession(entry, false);
+            if (!session.isExpired()) {
+                hits.increment();
+                return session;
+            }
+        }
+
+        // The delegate also deletes expired sessions
+        misses.increment();
+        sessions.remove(id);
+        Session session = delegate.findById(id);
+        if (session == null) {
+            return null;
+        }
+        entry = new Entry(session, System.currentTimeMillis());
+        put(id, entry);
+        return new CachedSession(entry, false);
+    }
+
+    @Override
+    public void deleteById(String id) {
+        sessions.remove(id);
+        delegate.deleteById(id);
+    }
+
+    @Override
+    public Map<String, Session> findByIndexNameAndIndexValue(String indexName, String indexValue) {
+        return delegate.findByIndexNameAndIndexValue(indexName, indexValue);
+    }
+
+    /**
+     * Evicts the session from the cache
+     *
+     * @param id The session's id
+     */
+    public void evict(String id) {
+        sessions.remove(id);
+    }
+
+    /**
+     * Evicts all sessions of a principal from the cache
+     *
+     * @param principalName The principal's name
+     */
+    public void evictByPrincipalName(String principalName) {
+        sessions.removeIf(entry -> {
+            synchronized (entry) {
+                return principalName.equals(entry.session.getAttribute(PRINCIPAL_NAME_INDEX_NAME));
+            }
+        });
+    }
+
+
+    private void put(String id, Entry entry) {
+        // A session expires from the cache ttl after it was loaded, even if its id changes
+        sessions.put(id, entry, entry.loadedAt + ttlMillis);
+    }
+
+
+    /**
+     * Session of the delegate shared by all requests of this node
+     */
+    private static final class Entry {
+
+        private final Session session;
+
+        private final long loadedAt;
+
+        /**
+         * The last access time of the session on this node, may be newer than the stored one
+         */
+        private volatile Instant lastAccessedTime;
+
+        private Entry(Session session, long loadedAt) {
+            this.session = session;
+            this.loadedAt = loadedAt;
+            this.lastAccessedTime = session.getLastAccessedTime();
+        }
+    }
+
+    /**
+     * Copy of a cached session used by a single request
+     * <p>
+     *     Changes are recorded and applied to the shared session when it is saved.
+     * </p>
+     */
+    private final class CachedSession implements Session {
+
+        private final Entry entry;
+
+        private final boolean isNew;
+
+        private final MapSession session;
+
+        /**
+         * Attributes set by the request, null values are removed attributes
+         */
+        private final Map<String, Object> changedAttributes = new HashMap<>();
+
+        private boolean maxInactiveIntervalChanged;
+
+        private boolean sessionIdChanged;
+
+        private CachedSession(Entry entry, boolean isNew) {
+            this.entry = entry;
+            this.isNew = isNew;
+            synchronized (entry) {
+                this.session = new MapSession(entry.session);
+            }
+            this.session.setLastAccessedTime(entry.lastAccessedTime);
+        }
+
+
+        @Override
+        public String getId() {
+            return session.getId();
+        }
+
+        @Override
+        public String changeSessionId() {
+            synchronized (entry) {
+                String id = entry.session.changeSessionId();
+                session.setId(id);
+                sessionIdChanged = true;
+                return id;
+            }
+        }
+
+        @Override
+        public <T> T getAttribute(String attributeName) {
+            return session.getAttribute(attributeName);
+        }
+
+        @Override
+        public Set<String> getAttributeNames() {
+            return session.getAttributeNames();
+        }
+
+        @Override
+        public void setAttribute(String attributeName, Object attributeValue) {
+            Object previousValue = session.getAttribute(attributeName);
+            session.setAttribute(attributeName, attributeValue);
+
+            // The same instance may have been changed in place, only an equal copy is known to be unchanged
+            if (previousValue != attributeValue && Objects.equals(previousValue, attributeValue)) {
+                avoidedAttributeWrites.increment();
+                return;
+            }
+            changedAttributes.put(attributeName, attributeValue);
+        }
+
+        @Override
+        public void removeAttribute(String attributeName) {
+            if (session.getAttribute(attributeName) == null) {
+                return;
+            }
+            session.removeAttribute(attributeName);
+            changedAttributes.put(attributeName, null);
+        }
+
+        @Override
+        public Instant getCreationTime() {
+            return session.getCreationTime();
+        }
+
+        @Override
+        public void setLastAccessedTime(Instant lastAccessedTime) {
+            session.setLastAccessedTime(lastAccessedTime);
+        }
+
+        @Override
+        public Instant getLastAccessedTime() {
+            return session.getLastAccessedTime();
+        }
+
+        @Override
+        public void setMaxInactiveInterval(Duration interval) {
+            session.setMaxInactiveInterval(interval);
+            maxInactiveIntervalChanged = true;
+        }
+
+        @Override
+        public Duration getMaxInactiveInterval() {
+            return session.getMaxInactiveInterval();
+        }
+
+        @Override
+        public boolean isExpired() {
+            return session.isExpired();
+        }
+
+
+        /**
+         * Applies changes of the request to the shared session, the caller should hold its lock
+         *
+         * @return true if the shared session has changes to be stored
+         */
+        private boolean applyChanges() {
+            Session target = entry.session;
+            boolean changed = !changedAttributes.isEmpty();
+            changedAttributes.forEach(target::setAttribute);
+            changedAttributes.clear();
+
+            // The session row is written anyway if its id or timeout has changed
+            boolean rowChanged = sessionIdChanged || maxInactiveIntervalChanged;
+            if (maxInactiveIntervalChanged) {
+                target.setMaxInactiveInterval(session.getMaxInactiveInterval());
+            }
+            sessionIdChanged = false;
+            maxInactiveIntervalChanged = false;
+
+            Instant lastAccessedTime = session.getLastAccessedTime();
+            if (lastAccessedTime.isAfter(entry.lastAccessedTime)) {
+                entry.lastAccessedTime = lastAccessedTime;
+            }
+            if (rowChanged || !lastAccessedTime.isBefore(target.getLastAccessedTime().plus(lastAccessUpdateInterval))) {
+                target.setLastAccessedTime(lastAccessedTime);
+                rowChanged = true;
+            } else if (!isNew) {
+                avoidedLastAccessWrites.increment();
+            }
+            return changed || rowChanged;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package tech.ayot.ticket.backend.repository.session;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.session.JdbcSessionProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Deletes expired sessions in place of the session repository's cleanup
+ * <p>
+ *     Sessions are deleted in batches of batchSize, each in its own short transaction, with a pause between batches.
+ *     Rows being deleted by another node are skipped, so the reaper can run on all nodes at once.
+ *     Attributes of deleted sessions are deleted by the foreign key's cascade.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "session.reaper.enabled", havingValue = "true", matchIfMissing = true)
+public class ExpiredSessionReaper {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final int batchSize;
+
+    private final int maxBatches;
+
+    private final Duration pause;
+
+    private final String deleteQuery;
+
+    private final String oldestExpiryTimeQuery;
+
+    private final Counter deletedSessions;
+
+    private final Timer duration;
+
+    /**
+     * Milliseconds since the oldest session that is still stored expired
+     */
+    private final AtomicLong lag = new AtomicLong();
+
+    public ExpiredSessionReaper(
+        JdbcTemplate jdbcTemplate,
+        JdbcSessionProperties jdbcSessionProperties,
+        @Value("${session.reaper.batch-size:1000}") int batchSize,
+        @Value("${session.reaper.max-batches:100}") int maxBatches,
+        @Value("${session.reaper.pause:100ms}") Duration pause,
+        MeterRegistry meterRegistry
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.pause = pause;
+
+        String tableName = jdbcSessionProperties.getTableName();
+        this.deleteQuery = "delete from " + tableName + " where PRIMARY_ID in "
+            + "(select PRIMARY_ID from " + tableName + " where EXPIRY_TIME < ? "
+            + "order by EXPIRY_TIME limit ? for update skip locked)";
+        this.oldestExpiryTimeQuery = "select min(EXPIRY_TIME) from " + tableName + " where EXPIRY_TIME < ?";
+
+        this.deletedSessions = Counter.builder("sessions.reaper.deleted")
+            .description("Expired sessions deleted by the reaper")
+            .register(meterRegistry);
+        this.duration = Timer.builder("sessions.reaper.duration")
+            .description("Time to delete expired sessions, including pauses between batches")
+            .register(meterRegistry);
+        Gauge.builder("sessions.reaper.lag", lag, AtomicLong::get)
+            .description("Time since the oldest stored session expired, after the last run")
+            .baseUnit("milliseconds")
+            .register(meterRegistry);
+    }
+
+
+    /**
+     * Deletes expired sessions, at most maxBatches batches per run
+     */
+    @Scheduled(
+        initialDelayString = "${session.reaper.interval:PT1M}",
+        fixedDelayString = "${session.reaper.interval:PT1M}"
+    )
+    public void deleteExpiredSessions() {
+        duration.record(() -> {
+            long now = System.currentTimeMillis();
+            for (int batch = 0; batch < maxBatches; batch++) {
+                int deleted = jdbcTemplate.update(deleteQuery, now, batchSize);
+                deletedSessions.increment(deleted);
+                if (deleted < batchSize || !pause()) {
+                    break;
+                }
+            }
+            updateLag();
+        });
+    }
+
+
+    private boolean pause() {
+        try {
+            Thread.sleep(pause.toMillis());
+            return true;
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void updateLag() {
+        long now = System.currentTimeMillis();
+        Long oldestExpiryTime = jdbcTemplate.queryForObject(oldestExpiryTimeQuery, Long.class, now);
+        lag.set(oldestExpiryTime == null ? 0 : now - oldestExpiryTime);
+    }
+}
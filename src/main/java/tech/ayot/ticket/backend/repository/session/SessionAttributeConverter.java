@@ -0,0 +1,278 @@
+package tech.ayot.ticket.backend.repository.session;
+
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.core.convert.converter.GenericConverter;
+import org.springframework.core.serializer.support.DeserializingConverter;
+import org.springframework.core.serializer.support.SerializationFailedException;
+import org.springframework.core.serializer.support.SerializingConverter;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationToken;
+import tech.ayot.ticket.backend.dto.auth.GrantedRoleDto;
+import tech.ayot.ticket.backend.dto.auth.UserDto;
+import tech.ayot.ticket.backend.model.enumuration.Role;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Converts session attributes to and from the bytes stored by the session repository
+ * <p>
+ *     Security contexts of logged-in users and strings are written in a compact, versioned format:
+ *     a marker byte, the format version, the value type and the value's fields.
+ *     Any other value is written with Java serialization.
+ * </p>
+ * <p>
+ *     Values written with Java serialization, including sessions stored before this format was added,
+ *     are always read. Writing the compact format can be disabled while older nodes are still running.
+ * </p>
+ */
+public class SessionAttributeConverter implements GenericConverter {
+
+    /**
+     * First byte of the compact format, Java serialization streams always start with 0xAC
+     */
+    private static final byte MARKER = 0x7E;
+
+    private static final byte VERSION = 1;
+
+    /**
+     * Longest string that always fits in a modified UTF-8 value
+     */
+    private static final int MAX_STRING_LENGTH = 65535 / 3;
+
+    private static final byte TYPE_STRING = 1;
+
+    private static final byte TYPE_SECURITY_CONTEXT = 2;
+
+    private static final byte AUTHENTICATION_USERNAME_PASSWORD = 1;
+
+    private static final byte AUTHENTICATION_PRE_AUTHENTICATED = 2;
+
+
+    private final boolean writeCompact;
+
+    private final SerializingConverter serializingConverter = new SerializingConverter();
+
+    private final DeserializingConverter deserializingConverter;
+
+    public SessionAttributeConverter(boolean writeCompact, ClassLoader classLoader) {
+        this.writeCompact = writeCompact;
+        this.deserializingConverter = new DeserializingConverter(classLoader);
+    }
+
+
+    @Override
+    public Set<ConvertiblePair> getConvertibleTypes() {
+        return Set.of(
+            new ConvertiblePair(Object.class, byte[].class),
+            new ConvertiblePair(byte[].class, Object.class)
+        );
+    }
+
+    @Override
+    public Object convert(Object source, TypeDescriptor sourceType, TypeDescriptor targetType) {
+        if (source == null) {
+            return null;
+        }
+        if (byte[].class.equals(targetType.getType())) {
+            return serialize(source);
+        }
+        return deserialize((byte[]) source);
+    }
+
+    /**
+     * @param value The attribute's value
+     * @return The attribute's stored bytes
+     */
+    public byte[] serialize(Object value) {
+        if (writeCompact) {
+            if (value instanceof String string && string.length() <= MAX_STRING_LENGTH) {
+                return write(TYPE_STRING, output -> output.writeUTF(string));
+            }
+            if (isCompactSecurityContext(value)) {
+                return write(TYPE_SECURITY_CONTEXT, output -> writeSecurityContext(output, (SecurityContext) value));
+            }
+        }
+        return serializingConverter.convert(value);
+    }
+
+    /**
+     * @param bytes The attribute's stored bytes
+     * @return The attribute's value
+     */
+    public Object deserialize(byte[] bytes) {
+        if (bytes.length == 0 || bytes[0] != MARKER) {
+            return deserializingConverter.convert(bytes);
+        }
+
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            input.readByte();
+            byte version = input.readByte();
+            if (version != VERSION) {
+                throw new SerializationFailedException("Unsupported session attribute format version " + version);
+            }
+            byte type = input.readByte();
+            return switch (type) {
+                case TYPE_STRING -> input.readUTF();
+                case TYPE_SECURITY_CONTEXT -> readSecurityContext(input);
+                default -> throw new SerializationFailedException("Unknown session attribute type " + type);
+            };
+        } catch (IOException exception) {
+            throw new SerializationFailedException("Failed to read session attribute", exception);
+        }
+    }
+
+
+    /**
+     * Only security contexts that can be rebuilt exactly are written in the compact format
+     */
+    private static boolean isCompactSecurityContext(Object value) {
+        if (value == null || value.getClass() != SecurityContextImpl.class) {
+            return false;
+        }
+        Authentication authentication = ((SecurityContext) value).getAuthentication();
+        if (authentication == null
+            || authentication.getClass() != UsernamePasswordAuthenticationToken.class
+            && authentication.getClass() != PreAuthenticatedAuthenticationToken.class) {
+            return false;
+        }
+        if (!authentication.isAuthenticated()
+            || authentication.getDetails() != null
+            || !(authentication.getPrincipal() instanceof UserDto userDto)
+            || userDto.getClass() != UserDto.class
+            || authentication.getCredentials() != null && !(authentication.getCredentials() instanceof String)) {
+            return false;
+        }
+        return hasSameAuthorities(authentication.getAuthorities(), userDto.getAuthorities());
+    }
+
+    private static boolean hasSameAuthorities(
+        Collection<? extends GrantedAuthority> authorities,
+        Collection<GrantedRoleDto> roles
+    ) {
+        if (authorities.size() != roles.size()) {
+            return false;
+        }
+        Iterator<? extends GrantedAuthority> authorityIterator = authorities.iterator();
+        for (GrantedRoleDto role : roles) {
+            if (authorityIterator.next() != role) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void writeSecurityContext(DataOutputStream output, SecurityContext securityContext) throws IOException {
+        Authentication authentication = securityContext.getAuthentication();
+        UserDto userDto = (UserDto) authentication.getPrincipal();
+        if (authentication instanceof PreAuthenticatedAuthenticationToken) {
+            output.writeByte(AUTHENTICATION_PRE_AUTHENTICATED);
+        } else {
+            output.writeByte(AUTHENTICATION_USERNAME_PASSWORD);
+        }
+        writeNullableString(output, (String) authentication.getCredentials());
+
+        output.writeLong(userDto.getId());
+        output.writeUTF(userDto.getUsername());
+        writeNullableString(output, userDto.getPassword());
+        Date modifiedDate = userDto.getModifiedDate();
+        output.writeBoolean(modifiedDate != null);
+        if (modifiedDate != null) {
+            output.writeLong(modifiedDate.getTime());
+        }
+
+        List<GrantedRoleDto> roles = userDto.getRoles();
+        output.writeInt(roles.size());
+        for (GrantedRoleDto role : roles) {
+            output.writeBoolean(role.getProductId() != null);
+            if (role.getProductId() != null) {
+                output.writeLong(role.getProductId());
+            }
+            output.writeByte(role.getRole().getLevel());
+        }
+    }
+
+    private static SecurityContext readSecurityContext(DataInputStream input) throws IOException {
+        byte authenticationType = input.readByte();
+        String credentials = readNullableString(input);
+
+        long id = input.readLong();
+        String username = input.readUTF();
+        String password = readNullableString(input);
+        Date modifiedDate = input.readBoolean() ? new Date(input.readLong()) : null;
+
+        int rolesCount = input.readInt();
+        List<GrantedRoleDto> roles = new ArrayList<>(rolesCount);
+        for (int i = 0; i < rolesCount; i++) {
+            Long productId = input.readBoolean() ? input.readLong() : null;
+            roles.add(new GrantedRoleDto(productId, roleOfLevel(input.readByte())));
+        }
+        UserDto userDto = new UserDto(id, username, password, modifiedDate, roles);
+
+        Authentication authentication = switch (authenticationType) {
+            case AUTHENTICATION_USERNAME_PASSWORD -> UsernamePasswordAuthenticationToken.authenticated(
+                userDto,
+                credentials,
+                userDto.getAuthorities()
+            );
+            case AUTHENTICATION_PRE_AUTHENTICATED -> new PreAuthenticatedAuthenticationToken(
+                userDto,
+                credentials,
+                userDto.getAuthorities()
+            );
+            default -> throw new SerializationFailedException("Unknown authentication type " + authenticationType);
+        };
+        return new SecurityContextImpl(authentication);
+    }
+
+    private static Role roleOfLevel(int level) {
+        Role role = Role.ofLevel(level);
+        if (role == null) {
+            throw new SerializationFailedException("Unknown role level " + level);
+        }
+        return role;
+    }
+
+    private static void writeNullableString(DataOutputStream output, String value) throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null) {
+            output.writeUTF(value);
+        }
+    }
+
+    private static String readNullableString(DataInputStream input) throws IOException {
+        return input.readBoolean() ? input.readUTF() : null;
+    }
+
+    private static byte[] write(byte type, ValueWriter valueWriter) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeByte(MARKER);
+            output.writeByte(VERSION);
+            output.writeByte(type);
+            valueWriter.write(output);
+        } catch (IOException exception) {
+            throw new SerializationFailedException("Failed to write session attribute", exception);
+        }
+        return bytes.toByteArray();
+    }
+
+
+    @FunctionalInterface
+    private interface ValueWriter {
+        void write(DataOutputStream output) throws IOException;
+    }
+}
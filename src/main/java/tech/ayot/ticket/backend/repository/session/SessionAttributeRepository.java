@@ -0,0 +1,53 @@
+package tech.ayot.ticket.backend.repository.session;
+
+import org.springframework.boot.autoconfigure.session.JdbcSessionProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Updates attributes of stored sessions without loading them
+ */
+@Repository
+public class SessionAttributeRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final SessionAttributeConverter sessionAttributeConverter;
+
+    private final String updateByPrincipalNameQuery;
+
+    public SessionAttributeRepository(
+        JdbcTemplate jdbcTemplate,
+        SessionAttributeConverter sessionAttributeConverter,
+        JdbcSessionProperties jdbcSessionProperties
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.sessionAttributeConverter = sessionAttributeConverter;
+
+        String tableName = jdbcSessionProperties.getTableName();
+        this.updateByPrincipalNameQuery = "update " + tableName + "_ATTRIBUTES set ATTRIBUTE_BYTES = ? "
+            + "where ATTRIBUTE_NAME = ? and SESSION_PRIMARY_ID in "
+            + "(select PRIMARY_ID from " + tableName + " where PRINCIPAL_NAME = ?)";
+    }
+
+
+    /**
+     * Sets an existing attribute of all sessions of a principal with a single statement
+     * <p>
+     *     Sessions cached by {@link CachingSessionRepository} should be evicted by the caller.
+     * </p>
+     *
+     * @param principalName  The principal's name
+     * @param attributeName  The attribute's name
+     * @param attributeValue The attribute's new value
+     * @return The number of updated sessions
+     */
+    public int updateAttributeByPrincipalName(String principalName, String attributeName, Object attributeValue) {
+        return jdbcTemplate.update(
+            updateByPrincipalNameQuery,
+            sessionAttributeConverter.serialize(attributeValue),
+            attributeName,
+            principalName
+        );
+    }
+}
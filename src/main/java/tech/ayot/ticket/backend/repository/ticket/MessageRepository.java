@@ -1,7 +1,10 @@
 package tech.ayot.ticket.backend.repository.ticket;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import tech.ayot.ticket.backend.dto.ticket.MessageDto;
 import tech.ayot.ticket.backend.model.ticket.Message;
 
 import java.util.List;
@@ -10,4 +13,19 @@ import java.util.List;
 public interface MessageRepository extends JpaRepository<Message, Long> {
 
     List<Message> findByTicketId(Long ticketId);
+
+    /**
+     * @param ticketId The ticket's id
+     * @param afterId  Only messages with a greater id are returned
+     * @param pageable The page size, its sort is ignored
+     * @return Messages of the ticket ordered by id
+     */
+    @Query(
+        "select new tech.ayot.ticket.backend.dto.ticket.MessageDto(" +
+            "m.id, u.id, u.username, m.content, m.creationDate) " +
+            "from Message m left join m.createdBy u " +
+            "where m.ticket.id = :ticketId and m.id > :afterId " +
+            "order by m.id"
+    )
+    List<MessageDto> findMessageDtos(Long ticketId, Long afterId, Pageable pageable);
 }
@@ -1,43 +1,122 @@
 package tech.ayot.ticket.backend.repository.ticket;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
-import tech.ayot.ticket.backend.model.enumuration.TicketStatus;
-import tech.ayot.ticket.backend.model.enumuration.TicketType;
 import tech.ayot.ticket.backend.model.ticket.Ticket;
-import tech.ayot.ticket.backend.model.user.User;
 
-import java.util.Date;
 import java.util.List;
 
 @Repository
-public interface TicketRepository extends JpaRepository<Ticket, Long> {
+public interface TicketRepository extends
+    JpaRepository<Ticket, Long>,
+    JpaSpecificationExecutor<Ticket>,
+    TicketRepositoryCustom {
 
     Ticket findTicketById(Long id);
 
-    List<Ticket> findTicketsByCreatedBy(User user);
+    /**
+     * @param userId The user's id
+     * @return Distinct names of the products the user has created tickets for, sorted by name
+     */
+    @Query("select distinct p.name from Ticket t join t.product p where t.createdBy.id = :userId order by p.name")
+    List<String> findProductNamesByCreatedById(Long userId);
 
     Boolean existsByProductId(Long productId);
 
+    /**
+     * Builds the body of view ticket response in the database
+     * <p>
+     *     The JSON has the same shape as {@link tech.ayot.ticket.backend.dto.ticket.response.ViewTicketResponse}.
+     *     Dates are stored in the application's time zone and are rendered in UTC
+     *     the way Jackson renders {@link java.util.Date}.
+     * </p>
+     *
+     * @param productId The product's id
+     * @param id        The ticket's id
+     * @param timeZone  The application's time zone
+     * @return UTF-8 encoded JSON, or null if there is no such ticket in the product
+     */
     @Query(
-        "select t from Ticket t " +
-            "where (:userId is null or t.createdBy.id = :userId) " +
-            "and (:type is null or t.type = :type) " +
-            "and (:productName is null or t.product.name = :productName) " +
-            "and (t.creationDate >= cast(:createdAfter as date)) " +
-            "and (t.creationDate <= cast(:createdBefore as date)) " +
-            "and (:status is null or t.status = :status)"
+        value = "select convert_to(cast(json_build_object(" +
+            "'ticketId', t.id, " +
+            "'username', u.username, " +
+            "'productId', t.product_id, " +
+            "'created', to_char((t.creation_date at time zone :timeZone) at time zone 'UTC', " + JSON_DATE_FORMAT + "), " +
+            "'type', t.type, " +
+            "'title', t.title, " +
+            "'description', t.description, " +
+            "'deadline', to_char((t.deadline at time zone :timeZone) at time zone 'UTC', " + JSON_DATE_FORMAT + "), " +
+            "'status', t.status, " +
+            "'messages', coalesce((" +
+            "select json_agg(json_build_object(" +
+            "'id', m.id, " +
+            "'userId', m.created_by_id, " +
+            "'username', mu.username, " +
+            "'content', m.content, " +
+            "'date', to_char((m.creation_date at time zone :timeZone) at time zone 'UTC', " + JSON_DATE_FORMAT + ")" +
+            ") order by m.id) " +
+            "from messages m left join users mu on mu.id = m.created_by_id " +
+            "where m.ticket_id = t.id" +
+            "), cast('[]' as json))" +
+            ") as text), 'UTF8') " +
+            "from tickets t left join users u on u.id = t.created_by_id " +
+            "where t.id = :id and t.product_id = :productId",
+        nativeQuery = true
     )
-    Page<Ticket> listAllByUser(
-        Long userId,
-        TicketType type,
-        String productName,
-        Date createdAfter,
-        Date createdBefore,
-        TicketStatus status,
-        Pageable pageable
-    );
+    byte[] findViewTicketJson(Long productId, Long id, String timeZone);
+
+    /**
+     * Searches tickets by their title, description and messages
+     * <p>
+     *     Tickets are ranked by their best matching document, either the ticket itself or one of its messages.
+     *     Matches are looked up in the full-text indexes created by {@code schema.sql}.
+     * </p>
+     *
+     * @param query     The search query, in web search syntax
+     * @param productId The product's id, null means all products
+     * @param status    The ticket's status, null means all statuses
+     * @param limit     The maximum number of ids to return
+     * @return Ids of the matching tickets, most relevant first
+     */
+    @Query(
+        value = "select h.ticket_id from (" +
+            "select t.id as ticket_id, ts_rank(" + TICKET_SEARCH_DOCUMENT + ", q.query) as rank " +
+            "from tickets t, websearch_to_tsquery(" + SEARCH_CONFIGURATION + ", :query) q(query) " +
+            "where " + TICKET_SEARCH_DOCUMENT + " @@ q.query " +
+            "union all " +
+            "select m.ticket_id, ts_rank(" + MESSAGE_SEARCH_DOCUMENT + ", q.query) " +
+            "from messages m, websearch_to_tsquery(" + SEARCH_CONFIGURATION + ", :query) q(query) " +
+            "where " + MESSAGE_SEARCH_DOCUMENT + " @@ q.query" +
+            ") h join tickets t on t.id = h.ticket_id " +
+            "where (cast(:productId as bigint) is null or t.product_id = :productId) " +
+            "and (cast(:status as varchar) is null or t.status = :status) " +
+            "group by h.ticket_id " +
+            "order by max(h.rank) desc, h.ticket_id " +
+            "limit :limit",
+        nativeQuery = true
+    )
+    List<Long> searchTicketIds(String query, Long productId, String status, int limit);
+
+    /**
+     * Postgres format of dates matching Jackson's default date format
+     */
+    String JSON_DATE_FORMAT = "'YYYY-MM-DD\"T\"HH24:MI:SS.MS\"+00:00\"'";
+
+    /**
+     * Text search configuration of ticket search
+     */
+    String SEARCH_CONFIGURATION = "'english'";
+
+    /**
+     * Searchable document of a ticket, must match the expression of idx_tickets_search
+     */
+    String TICKET_SEARCH_DOCUMENT = "to_tsvector(" + SEARCH_CONFIGURATION + ", " +
+        "coalesce(t.title, '') || ' ' || coalesce(t.description, ''))";
+
+    /**
+     * Searchable document of a message, must match the expression of idx_messages_search
+     */
+    String MESSAGE_SEARCH_DOCUMENT = "to_tsvector(" + SEARCH_CONFIGURATION + ", coalesce(m.content, ''))";
 }
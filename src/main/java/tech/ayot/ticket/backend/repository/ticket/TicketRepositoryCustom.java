@@ -0,0 +1,33 @@
+package tech.ayot.ticket.backend.repository.ticket;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import tech.ayot.ticket.backend.dto.ticket.TicketDto;
+import tech.ayot.ticket.backend.model.ticket.Ticket;
+
+import java.util.List;
+
+/**
+ * Custom queries of ticket repository
+ */
+public interface TicketRepositoryCustom {
+
+    /**
+     * Fetches ticket DTOs using a single query
+     * <p>
+     *     Only columns of {@link TicketDto} are selected and no entity is loaded.
+     * </p>
+     *
+     * @param specification The ticket filters
+     * @param sort          The sort order
+     * @param offset        The number of tickets to skip
+     * @param limit         The maximum number of tickets to return
+     * @return List of ticket DTOs
+     */
+    List<TicketDto> findTicketDtos(
+        Specification<Ticket> specification,
+        Sort sort,
+        long offset,
+        int limit
+    );
+}
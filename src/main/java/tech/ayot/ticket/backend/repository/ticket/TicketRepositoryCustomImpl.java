@@ -0,0 +1,68 @@
+package tech.ayot.ticket.backend.repository.ticket;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import tech.ayot.ticket.backend.dto.ticket.TicketDto;
+import tech.ayot.ticket.backend.model.product.Product;
+import tech.ayot.ticket.backend.model.ticket.Ticket;
+import tech.ayot.ticket.backend.model.user.User;
+
+import java.util.List;
+
+class TicketRepositoryCustomImpl implements TicketRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+
+    @Override
+    public List<TicketDto> findTicketDtos(
+        Specification<Ticket> specification,
+        Sort sort,
+        long offset,
+        int limit
+    ) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TicketDto> query = builder.createQuery(TicketDto.class);
+        Root<Ticket> root = query.from(Ticket.class);
+        Join<Ticket, User> createdBy = root.join("createdBy", JoinType.LEFT);
+        Join<Ticket, Product> product = root.join("product");
+
+        query.select(builder.construct(
+            TicketDto.class,
+            root.get("id"),
+            createdBy.get("username"),
+            root.get("creationDate"),
+            root.get("type"),
+            root.get("title"),
+            root.get("description"),
+            root.get("deadline"),
+            root.get("status"),
+            product.get("id"),
+            product.get("name")
+        ));
+        if (specification != null) {
+            Predicate predicate = specification.toPredicate(root, query, builder);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, builder));
+        }
+
+        return entityManager.createQuery(query)
+            .setFirstResult(Math.toIntExact(offset))
+            .setMaxResults(limit)
+            .getResultList();
+    }
+}
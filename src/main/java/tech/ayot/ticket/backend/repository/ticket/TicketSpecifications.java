@@ -0,0 +1,122 @@
+package tech.ayot.ticket.backend.repository.ticket;
+
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+import tech.ayot.ticket.backend.dto.ticket.TicketCursor;
+import tech.ayot.ticket.backend.model.enumuration.TicketStatus;
+import tech.ayot.ticket.backend.model.enumuration.TicketType;
+import tech.ayot.ticket.backend.model.ticket.Ticket;
+
+import java.util.Collection;
+import java.util.Date;
+
+/**
+ * Specifications used to query tickets
+ * <p>
+ *     Every factory method returns null if its parameter is null,
+ *     so composing them only adds the predicates the caller has actually set.
+ * </p>
+ */
+public final class TicketSpecifications {
+
+    private TicketSpecifications() {
+    }
+
+
+    /**
+     * @param userId        The creator's id
+     * @param type          The ticket type
+     * @param productId     The product's id
+     * @param createdAfter  The inclusive lower bound of creation date
+     * @param createdBefore The inclusive upper bound of creation date
+     * @param status        The ticket status
+     * @return Specification matching tickets with all given filters
+     */
+    public static Specification<Ticket> filter(
+        Long userId,
+        TicketType type,
+        Long productId,
+        Date createdAfter,
+        Date createdBefore,
+        TicketStatus status
+    ) {
+        return Specification.where(createdBy(userId))
+            .and(hasType(type))
+            .and(hasProductId(productId))
+            .and(createdAfter(createdAfter))
+            .and(createdBefore(createdBefore))
+            .and(hasStatus(status));
+    }
+
+    public static Specification<Ticket> createdBy(Long userId) {
+        if (userId == null) return null;
+        return (root, query, builder) -> builder.equal(root.get("createdBy").get("id"), userId);
+    }
+
+    public static Specification<Ticket> hasType(TicketType type) {
+        if (type == null) return null;
+        return (root, query, builder) -> builder.equal(root.get("type"), type);
+    }
+
+    public static Specification<Ticket> hasProductId(Long productId) {
+        if (productId == null) return null;
+        return (root, query, builder) -> builder.equal(root.get("product").get("id"), productId);
+    }
+
+    public static Specification<Ticket> createdAfter(Date date) {
+        if (date == null) return null;
+        return (root, query, builder) -> builder.greaterThanOrEqualTo(root.get("creationDate"), date);
+    }
+
+    public static Specification<Ticket> createdBefore(Date date) {
+        if (date == null) return null;
+        return (root, query, builder) -> builder.lessThanOrEqualTo(root.get("creationDate"), date);
+    }
+
+    public static Specification<Ticket> hasStatus(TicketStatus status) {
+        if (status == null) return null;
+        return (root, query, builder) -> builder.equal(root.get("status"), status);
+    }
+
+    public static Specification<Ticket> hasIdIn(Collection<Long> ids) {
+        if (ids == null) return null;
+        return (root, query, builder) -> root.get("id").in(ids);
+    }
+
+    /**
+     * Seek predicate of cursor pagination
+     *
+     * @param cursor The cursor pointing at the last ticket of the previous page
+     * @return Specification matching tickets which come after the cursor in its sort order
+     */
+    public static Specification<Ticket> after(TicketCursor cursor) {
+        if (cursor == null) return null;
+        return (root, query, builder) -> {
+            boolean ascending = cursor.direction().isAscending();
+
+            Path<Long> id = root.get("id");
+            Predicate idAfter = ascending
+                ? builder.greaterThan(id, cursor.id())
+                : builder.lessThan(id, cursor.id());
+            if (TicketCursor.ORDER_ID.equals(cursor.order())) {
+                return idAfter;
+            }
+
+            // (creationDate, id) comes after (key, id) in the sort order.
+            // The redundant bound on creationDate lets the planner use a range scan.
+            Path<Date> creationDate = root.get("creationDate");
+            Date key = new Date(cursor.key());
+            Predicate keyBound = ascending
+                ? builder.greaterThanOrEqualTo(creationDate, key)
+                : builder.lessThanOrEqualTo(creationDate, key);
+            Predicate keyAfter = ascending
+                ? builder.greaterThan(creationDate, key)
+                : builder.lessThan(creationDate, key);
+            return builder.and(
+                keyBound,
+                builder.or(keyAfter, builder.and(builder.equal(creationDate, key), idAfter))
+            );
+        };
+    }
+}
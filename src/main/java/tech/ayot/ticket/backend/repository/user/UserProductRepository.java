@@ -1,6 +1,8 @@
 package tech.ayot.ticket.backend.repository.user;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 import tech.ayot.ticket.backend.model.user.UserProduct;
@@ -8,6 +10,14 @@ import tech.ayot.ticket.backend.model.user.UserProduct;
 @Repository
 public interface UserProductRepository extends JpaRepository<UserProduct, Long> {
 
+    /**
+     * Deletes all user products of the product with a single statement
+     *
+     * @param productId The product's id
+     * @return Number of deleted user products
+     */
     @Transactional
-    void deleteAllByProductId(Long productId);
+    @Modifying
+    @Query("delete from UserProduct up where up.product.id = :productId")
+    int deleteAllByProductId(Long productId);
 }
@@ -1,14 +1,102 @@
 package tech.ayot.ticket.backend.repository.user;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import tech.ayot.ticket.backend.model.user.User;
 
+import java.util.List;
+
 /**
  * Repository for user entity
  */
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    /**
+     * Finds a user by its username
+     * <p>
+     *     The result is kept in the query cache until the users table changes,
+     *     and the user is loaded from the second-level cache.
+     * </p>
+     *
+     * @param username The user's username
+     * @return The user, or null if there is no user with this username
+     */
+    @QueryHints({@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true")})
     User findUserByUsername(String username);
+
+    boolean existsUserByUsername(String username);
+
+    /**
+     * @param id The user's id
+     * @return The user with its roles, or null if there is no user with this id
+     */
+    @EntityGraph(attributePaths = {"userProducts"})
+    User findWithUserProductsById(Long id);
+
+    /**
+     * @param afterId  The users' ids are greater than this id
+     * @param pageable The maximum number of users to return
+     * @return Ids and usernames of users in ascending order of ids
+     */
+    @Query("select u.id as id, u.username as username from User u where u.id > :afterId order by u.id")
+    List<UsernameSummary> findUsernamesAfter(long afterId, Pageable pageable);
+
+    /**
+     * Searches users by username, first name and last name
+     * <p>
+     *     Every condition is served by one of the trigram indexes on users created by {@code schema.sql}.
+     * </p>
+     *
+     * @param query  The search query
+     * @param prefix LIKE pattern matching values starting with the query
+     * @param limit  The maximum number of users to return
+     * @return Users with a username or name starting with or similar to the query, username prefix matches first
+     */
+    @Query(
+        value = "select u.id as id, u.username as username, " +
+            "u.first_name as \"firstName\", u.last_name as \"lastName\" from users u " +
+            "where u.username ilike :prefix or u.username % :query " +
+            "or u.first_name ilike :prefix or u.first_name % :query " +
+            "or u.last_name ilike :prefix or u.last_name % :query " +
+            "order by u.username ilike :prefix desc, greatest(" +
+            "similarity(u.username, :query), " +
+            "similarity(u.first_name, :query), " +
+            "similarity(u.last_name, :query)" +
+            ") desc, u.username " +
+            "limit :limit",
+        nativeQuery = true
+    )
+    List<UserSummary> search(String query, String prefix, int limit);
+
+
+    /**
+     * Projection of user search results
+     */
+    interface UserSummary {
+
+        Long getId();
+
+        String getUsername();
+
+        String getFirstName();
+
+        String getLastName();
+    }
+
+    /**
+     * Projection of usernames
+     */
+    interface UsernameSummary {
+
+        Long getId();
+
+        String getUsername();
+    }
 }
@@ -4,52 +4,89 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.*;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.authentication.logout.SecurityContextLogoutHandler;
 import org.springframework.session.Session;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import tech.ayot.ticket.backend.cache.LoginFailureCache;
+import tech.ayot.ticket.backend.cache.SecurityVersionCache;
+import tech.ayot.ticket.backend.cache.UsernameFilter;
 import tech.ayot.ticket.backend.dto.auth.GrantedRoleDto;
 import tech.ayot.ticket.backend.dto.auth.UserDto;
 import tech.ayot.ticket.backend.model.enumuration.Role;
 import tech.ayot.ticket.backend.dto.auth.request.LoginRequest;
 import tech.ayot.ticket.backend.dto.auth.request.RegisterRequest;
 import tech.ayot.ticket.backend.dto.auth.response.LoginResponse;
+import tech.ayot.ticket.backend.dto.auth.response.UsernameAvailabilityResponse;
+import tech.ayot.ticket.backend.interceptor.TokenAuthenticationFilter;
 import tech.ayot.ticket.backend.model.user.User;
 import tech.ayot.ticket.backend.repository.user.UserRepository;
 
+import java.util.regex.Pattern;
+
 /**
  * Authentication service
+ * <p>
+ *     Logged-in users are stored in sessions by {@link SessionService}, or in tokens by {@link TokenService}
+ *     if {@code auth.mode} is TOKEN. Tokens are returned in the Authorization header.
+ * </p>
  */
 @RestController
 @RequestMapping("/api/auth")
 public class AuthenticationService {
 
+    private static final Pattern USERNAME_PATTERN = Pattern.compile(User.USERNAME_REGEX);
+
     private final AuthenticationManager authenticationManager;
 
     private final SessionService<Session> sessionService;
 
     private final UserRepository userRepository;
 
+    private final CurrentUserHolder currentUserHolder;
+
     private final PasswordEncoder passwordEncoder;
 
+    private final LoginFailureCache loginFailureCache;
+
+    private final SecurityVersionCache securityVersionCache;
+
+    private final UsernameFilter usernameFilter;
+
+    /**
+     * The token service, null if users are stored in sessions
+     */
+    private final TokenService tokenService;
+
     public AuthenticationService(
         AuthenticationManager authenticationManager,
         SessionService<Session> sessionService,
         UserRepository userRepository,
-        PasswordEncoder passwordEncoder
+        CurrentUserHolder currentUserHolder,
+        PasswordEncoder passwordEncoder,
+        LoginFailureCache loginFailureCache,
+        SecurityVersionCache securityVersionCache,
+        UsernameFilter usernameFilter,
+        ObjectProvider<TokenService> tokenService
     ) {
         this.authenticationManager = authenticationManager;
         this.sessionService = sessionService;
         this.userRepository = userRepository;
+        this.currentUserHolder = currentUserHolder;
         this.passwordEncoder = passwordEncoder;
+        this.loginFailureCache = loginFailureCache;
+        this.securityVersionCache = securityVersionCache;
+        this.usernameFilter = usernameFilter;
+        this.tokenService = tokenService.getIfAvailable();
     }
 
 
@@ -57,17 +94,23 @@ public class AuthenticationService {
      * Logs in the user.
      *
      * @param request      The HTTP request.
-     * @param session      The HTTP session.
      * @param loginRequest The login request.
      * @return A login response object if the login is successful, or an error object if any error occurs during the login process.
      */
     @PostMapping(value = {"/login"}, consumes = {"application/json"}, produces = {"application/json"})
     public ResponseEntity<LoginResponse> login(
         HttpServletRequest request,
-        HttpSession session,
         @Valid @RequestBody LoginRequest loginRequest
     ) {
-        session.invalidate();
+        HttpSession session = request.getSession(false);
+        if (session != null) {
+            session.invalidate();
+        }
+
+        // Reject logins with too many recent failures before checking the password
+        if (loginFailureCache.isBlocked(loginRequest.username(), request.getRemoteAddr())) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Too many failed logins, try again later");
+        }
 
         // Authenticate user
         UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
@@ -86,12 +129,20 @@ public class AuthenticationService {
         } catch (DisabledException ignored) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Account is disabled");
         } catch (AuthenticationException ignored) {
+            loginFailureCache.recordFailure(loginRequest.username(), request.getRemoteAddr());
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid username or password");
         }
+        loginFailureCache.reset(loginRequest.username(), request.getRemoteAddr());
 
         // Get user details
         UserDto userDto = (UserDto) authentication.getPrincipal();
 
+        // Return login response with a new token
+        LoginResponse loginResponse = getLoginResponse(userDto);
+        if (tokenService != null) {
+            return new ResponseEntity<>(loginResponse, getTokenHeaders(userDto), HttpStatus.OK);
+        }
+
         // Create session
         sessionService.createSession(
             request,
@@ -100,7 +151,6 @@ public class AuthenticationService {
         );
 
         // Return login response
-        LoginResponse loginResponse = getLoginResponse(userDto);
         return new ResponseEntity<>(loginResponse, HttpStatus.OK);
     }
 
@@ -116,6 +166,11 @@ public class AuthenticationService {
         HttpServletRequest request,
         HttpServletResponse response
     ) {
+        String token = TokenAuthenticationFilter.getToken(request);
+        if (tokenService != null && token != null) {
+            tokenService.revokeToken(token);
+        }
+
         SecurityContextLogoutHandler logoutHandler = new SecurityContextLogoutHandler();
         logoutHandler.logout(request, response, null);
         return new ResponseEntity<>(HttpStatus.OK);
@@ -131,25 +186,49 @@ public class AuthenticationService {
     public ResponseEntity<Void> register(
         @Valid @RequestBody RegisterRequest request
     ) {
-        // Check if user with the username already exists.
-        User user = userRepository.findUserByUsername(request.username());
-        if (user != null) {
+        // Check if user with the username already exists,
+        // usernames missing from the filter are only checked by the unique constraint
+        if (usernameFilter.mightExist(request.username()) && userRepository.existsUserByUsername(request.username())) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Username already exists");
         }
 
         // Create user
-        user = new User();
+        User user = new User();
         user.setUsername(request.username());
         user.setPassword(passwordEncoder.encode(request.password()));
-        userRepository.save(user);
+        try {
+            userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Username already exists");
+        }
 
         return new ResponseEntity<>(HttpStatus.OK);
     }
 
+    /**
+     * Checks if a username can be registered
+     *
+     * @param username The username
+     * @return Username availability response, BAD_REQUEST if the username is not valid
+     */
+    @GetMapping(value = {"/username/availability"}, produces = {"application/json"})
+    public ResponseEntity<UsernameAvailabilityResponse> usernameAvailability(@RequestParam String username) {
+        if (!USERNAME_PATTERN.matcher(username).matches()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Username is not valid");
+        }
+
+        // The filter can miss usernames registered on other nodes since its last refresh,
+        // so availability is always checked in the database
+        UsernameAvailabilityResponse response = new UsernameAvailabilityResponse(
+            username,
+            !userRepository.existsUserByUsername(username)
+        );
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
     /**
      * @return Login response of current logged-in user
      */
-    @Transactional(readOnly = true)
     @GetMapping(value = {"/user"}, produces = {"application/json"})
     public ResponseEntity<LoginResponse> currentUser() {
         // Return login response with null values if user details is null
@@ -165,23 +244,22 @@ public class AuthenticationService {
             return new ResponseEntity<>(loginResponse, HttpStatus.OK);
         }
 
-        // Update user's current session if user is updated
-        User user = userRepository.getReferenceById(userDto.getId());
-        if (user.getLastModifiedDate() != null
-            && (userDto.getModifiedDate() == null
-            || userDto.getModifiedDate().compareTo(user.getLastModifiedDate()) != 0)) {
-            sessionService.updateCurrentSession(new UserDto(user));
+        // Update user's current session if user's security version has changed,
+        // tokens are checked and renewed by TokenAuthenticationFilter on every request
+        LoginResponse loginResponse = getLoginResponse(userDto);
+        if (tokenService == null) {
+            UserDto updatedUserDto = securityVersionCache.getUpdatedUser(userDto);
+            if (updatedUserDto != null) {
+                sessionService.updateCurrentSession(updatedUserDto);
+            }
         }
 
         // Return login response with current user's id and username
-        LoginResponse loginResponse = getLoginResponse(userDto);
         return new ResponseEntity<>(loginResponse, HttpStatus.OK);
     }
 
     public UserDto getCurrentUserDto() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        boolean isAuthenticated = authentication != null && authentication.getPrincipal() instanceof UserDto;
-        return isAuthenticated ? (UserDto) authentication.getPrincipal() : null;
+        return currentUserHolder.getUserDto();
     }
 
     public User getCurrentUser() {
@@ -193,6 +271,12 @@ public class AuthenticationService {
     }
 
 
+    private HttpHeaders getTokenHeaders(UserDto userDto) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.AUTHORIZATION, TokenAuthenticationFilter.BEARER_PREFIX + tokenService.createToken(userDto));
+        return headers;
+    }
+
     private static LoginResponse getLoginResponse(UserDto userDto) {
         GrantedRoleDto grantedRole = userDto.getRoles()
             .stream().filter(roleDto -> roleDto.getProductId() != null)
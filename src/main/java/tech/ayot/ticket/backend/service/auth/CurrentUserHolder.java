@@ -0,0 +1,76 @@
+package tech.ayot.ticket.backend.service.auth;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import tech.ayot.ticket.backend.dto.auth.UserDto;
+import tech.ayot.ticket.backend.model.user.User;
+import tech.ayot.ticket.backend.repository.user.UserRepository;
+
+/**
+ * Holds the current logged-in user for the duration of a request
+ * <p>
+ *     The user is resolved from the security context once per request and kept as a request attribute,
+ *     together with an uninitialized reference to the user entity. The reference is meant for auditing
+ *     and other associations that only need the user's id, so setting it never loads the user.
+ *     Outside a request, the user is resolved on every call.
+ * </p>
+ */
+@Component
+public class CurrentUserHolder {
+
+    private static final String ATTRIBUTE_NAME = CurrentUserHolder.class.getName() + ".CURRENT_USER";
+
+
+    private final UserRepository userRepository;
+
+    public CurrentUserHolder(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+
+    /**
+     * @return Current logged-in user, null if the user is not logged in
+     */
+    public UserDto getUserDto() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        boolean isAuthenticated = authentication != null && authentication.getPrincipal() instanceof UserDto;
+        return isAuthenticated ? (UserDto) authentication.getPrincipal() : null;
+    }
+
+    /**
+     * @return Uninitialized reference to current logged-in user, null if the user is not logged in
+     */
+    public User getUserReference() {
+        UserDto userDto = getUserDto();
+        if (userDto == null) {
+            return null;
+        }
+
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null) {
+            return userRepository.getReferenceById(userDto.getId());
+        }
+
+        // The security context can change during the request, e.g. on login, so the user is checked too
+        if (requestAttributes.getAttribute(ATTRIBUTE_NAME, RequestAttributes.SCOPE_REQUEST) instanceof CurrentUser currentUser
+            && currentUser.userDto() == userDto) {
+            return currentUser.user();
+        }
+        User user = userRepository.getReferenceById(userDto.getId());
+        requestAttributes.setAttribute(ATTRIBUTE_NAME, new CurrentUser(userDto, user), RequestAttributes.SCOPE_REQUEST);
+        return user;
+    }
+
+
+    /**
+     * Current user of a request
+     *
+     * @param userDto The user in the security context
+     * @param user    Uninitialized reference to the user
+     */
+    private record CurrentUser(UserDto userDto, User user) {
+    }
+}
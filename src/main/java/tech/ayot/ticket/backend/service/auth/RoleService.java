@@ -18,22 +18,35 @@ public class RoleService {
      * @return true if the user has the role in the product
      */
     public boolean userHasRole(Long productId, Role role) {
-        // Get user DTO
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        boolean isAuthenticated = authentication != null && authentication.getPrincipal() instanceof UserDto;
-        UserDto userDto = isAuthenticated ? (UserDto) authentication.getPrincipal() : null;
-        if (userDto == null) return false;
-
-        // Check role
         if (productId == null) {
-            return userDto.getRoles().stream().anyMatch(grantedRole ->
-                grantedRole.getProductId() == null && grantedRole.getRole().getLevel() >= role.getLevel()
-            );
-        } else {
-            return userDto.getRoles().stream().anyMatch(grantedRole ->
-                (grantedRole.getProductId() == null || grantedRole.getProductId().equals(productId))
-                    && grantedRole.getRole().getLevel() >= role.getLevel()
-            );
+            return userHasRootRole(role);
         }
+        return userHasRole(productId.longValue(), role);
+    }
+
+    /**
+     * @param productId The product id
+     * @param role The role
+     * @return true if the user has the role in the product or in all products
+     */
+    public boolean userHasRole(long productId, Role role) {
+        UserDto userDto = getCurrentUserDto();
+        return userDto != null && userDto.getRoleIndex().getLevel(productId) >= role.getLevel();
+    }
+
+    /**
+     * @param role The role
+     * @return true if the user has the role in all products
+     */
+    public boolean userHasRootRole(Role role) {
+        UserDto userDto = getCurrentUserDto();
+        return userDto != null && userDto.getRoleIndex().getRootLevel() >= role.getLevel();
+    }
+
+
+    private static UserDto getCurrentUserDto() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        boolean isAuthenticated = authentication != null && authentication.getPrincipal() instanceof UserDto;
+        return isAuthenticated ? (UserDto) authentication.getPrincipal() : null;
     }
 }
@@ -5,6 +5,7 @@ import jakarta.servlet.http.HttpSession;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextImpl;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationToken;
 import org.springframework.session.FindByIndexNameSessionRepository;
@@ -16,10 +17,10 @@ import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 import tech.ayot.ticket.backend.dto.auth.UserDto;
 import tech.ayot.ticket.backend.model.user.User;
+import tech.ayot.ticket.backend.repository.session.CachingSessionRepository;
+import tech.ayot.ticket.backend.repository.session.SessionAttributeRepository;
 import tech.ayot.ticket.backend.repository.user.UserRepository;
 
-import java.util.Map;
-
 /**
  * Session Service
  * @param <S> Session
@@ -34,13 +35,17 @@ public class SessionService<S extends Session> implements UserDetailsService {
 
     private final FindByIndexNameSessionRepository<S> sessionRepository;
 
+    private final SessionAttributeRepository sessionAttributeRepository;
+
     private final UserRepository userRepository;
 
     public SessionService(
         FindByIndexNameSessionRepository<S> sessionRepository,
+        SessionAttributeRepository sessionAttributeRepository,
         UserRepository userRepository
     ) {
         this.sessionRepository = sessionRepository;
+        this.sessionAttributeRepository = sessionAttributeRepository;
         this.userRepository = userRepository;
     }
 
@@ -55,8 +60,10 @@ public class SessionService<S extends Session> implements UserDetailsService {
         Authentication authentication,
         String username
     ) {
-        SecurityContext securityContext = SecurityContextHolder.getContext();
+        // A new context is created, as the current one may be shared with other requests through the session cache
+        SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
         securityContext.setAuthentication(authentication);
+        SecurityContextHolder.setContext(securityContext);
         HttpSession session = request.getSession(true);
         session.setAttribute(SPRING_SECURITY_CONTEXT_TOKEN, securityContext);
         session.setAttribute(USERNAME_TOKEN, username);
@@ -64,39 +71,47 @@ public class SessionService<S extends Session> implements UserDetailsService {
 
     /**
      * Updates all session for the given user
+     * <p>
+     *     All sessions get the same security context, so it is written to all of them with a single statement
+     *     instead of loading and saving each session.
+     *     Sessions cached by this node are evicted, other nodes see the change after their cache ttl.
+     * </p>
      * @param user The user to update its sessions
      */
+    @Transactional
     public void updateAllSessions(UserDto user) {
-        Map<String, S> sessionsMap = sessionRepository.findByIndexNameAndIndexValue(
-            USERNAME_TOKEN,
-            user.getUsername()
+        PreAuthenticatedAuthenticationToken authentication = new PreAuthenticatedAuthenticationToken(
+            user,
+            user.getPassword(),
+            user.getAuthorities()
         );
-        sessionsMap.values().forEach(session -> {
-            SecurityContext securityContext = session.getAttribute(SPRING_SECURITY_CONTEXT_TOKEN);
-            PreAuthenticatedAuthenticationToken authentication = new PreAuthenticatedAuthenticationToken(
-                user,
-                user.getPassword(),
-                user.getAuthorities()
-            );
-            securityContext.setAuthentication(authentication);
-            session.setAttribute(SPRING_SECURITY_CONTEXT_TOKEN, securityContext);
-            sessionRepository.save(session);
-        });
+        sessionAttributeRepository.updateAttributeByPrincipalName(
+            user.getUsername(),
+            SPRING_SECURITY_CONTEXT_TOKEN,
+            new SecurityContextImpl(authentication)
+        );
+        if (sessionRepository instanceof CachingSessionRepository cachingSessionRepository) {
+            cachingSessionRepository.evictByPrincipalName(user.getUsername());
+        }
     }
 
     /**
      * Updates current session for the given user
+     * <p>
+     *     The session gets a new security context, the stored one is never changed in place
+     *     because cached sessions share it with concurrent requests.
+     * </p>
      * @param user The user to update its current session
      */
     public void updateCurrentSession(UserDto user) {
         HttpSession session = getCurrentSession();
-        SecurityContext securityContext = (SecurityContext) session.getAttribute(SPRING_SECURITY_CONTEXT_TOKEN);
         PreAuthenticatedAuthenticationToken authentication = new PreAuthenticatedAuthenticationToken(
             user,
             user.getPassword(),
             user.getAuthorities()
         );
-        securityContext.setAuthentication(authentication);
+        SecurityContext securityContext = new SecurityContextImpl(authentication);
+        SecurityContextHolder.setContext(securityContext);
         session.setAttribute(SPRING_SECURITY_CONTEXT_TOKEN, securityContext);
     }
 
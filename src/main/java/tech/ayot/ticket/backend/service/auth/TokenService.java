@@ -0,0 +1,231 @@
+package tech.ayot.ticket.backend.service.auth;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import tech.ayot.ticket.backend.cache.ExpiringMap;
+import tech.ayot.ticket.backend.dto.auth.GrantedRoleDto;
+import tech.ayot.ticket.backend.dto.auth.UserDto;
+import tech.ayot.ticket.backend.model.enumuration.Role;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Issues and verifies signed tokens of logged-in users
+ * <p>
+ *     A token is the user's id, username, roles and last modified date, with the token's id and expiry time,
+ *     followed by their HMAC-SHA256 signature, both Base64 encoded. Tokens are verified without the database.
+ * </p>
+ * <p>
+ *     Tokens are short-lived and renewed by
+ *     {@link tech.ayot.ticket.backend.interceptor.TokenAuthenticationFilter TokenAuthenticationFilter}
+ *     once they are past half their lifetime.
+ *     Revoked tokens are kept in a deny-list of this node until they expire. The deny-list holds at most
+ *     maxRevokedTokens tokens, when it is full the revocations expiring first are dropped.
+ * </p>
+ */
+@Service
+@ConditionalOnProperty(name = "auth.mode", havingValue = "TOKEN")
+public class TokenService {
+
+    private static final byte VERSION = 1;
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private static final Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+
+    private static final Base64.Decoder decoder = Base64.getUrlDecoder();
+
+
+    private final SecretKeySpec key;
+
+    private final Duration ttl;
+
+    private final SecureRandom random = new SecureRandom();
+
+    private final ThreadLocal<Mac> mac;
+
+    /**
+     * Ids of revoked tokens, until the tokens expire
+     */
+    private final ExpiringMap<Long, Boolean> revokedTokens;
+
+    public TokenService(
+        @Value("${auth.token.secret:}") String secret,
+        @Value("${auth.token.ttl:15m}") Duration ttl,
+        @Value("${auth.token.max-revoked:100000}") int maxRevokedTokens
+    ) {
+        byte[] secretBytes = Base64.getDecoder().decode(secret);
+        if (secretBytes.length < 32) {
+            throw new IllegalStateException("auth.token.secret should be at least 32 Base64 encoded bytes");
+        }
+        this.key = new SecretKeySpec(secretBytes, ALGORITHM);
+        this.ttl = ttl;
+        this.revokedTokens = new ExpiringMap<>(ttl, maxRevokedTokens);
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException exception) {
+                throw new IllegalStateException(exception);
+            }
+        });
+    }
+
+
+    /**
+     * @param user The logged-in user
+     * @return A new token of the user
+     */
+    public String createToken(UserDto user) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeByte(VERSION);
+            output.writeLong(random.nextLong());
+            output.writeLong(System.currentTimeMillis() + ttl.toMillis());
+            output.writeLong(user.getId());
+            output.writeUTF(user.getUsername());
+            Date modifiedDate = user.getModifiedDate();
+            output.writeBoolean(modifiedDate != null);
+            if (modifiedDate != null) {
+                output.writeLong(modifiedDate.getTime());
+            }
+            output.writeShort(user.getRoles().size());
+            for (GrantedRoleDto role : user.getRoles()) {
+                output.writeBoolean(role.getProductId() != null);
+                if (role.getProductId() != null) {
+                    output.writeLong(role.getProductId());
+                }
+                output.writeByte(role.getRole().getLevel());
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+
+        byte[] payload = bytes.toByteArray();
+        return encoder.encodeToString(payload) + "." + encoder.encodeToString(mac.get().doFinal(payload));
+    }
+
+    /**
+     * @param token The token
+     * @return The token's user, null if the token is invalid, expired or revoked
+     */
+    public UserDto getUser(String token) {
+        VerifiedToken verifiedToken = verifyToken(token);
+        return verifiedToken == null ? null : verifiedToken.user();
+    }
+
+    /**
+     * @param token The token
+     * @return The token's user and expiry time, null if the token is invalid, expired or revoked
+     */
+    public VerifiedToken verifyToken(String token) {
+        byte[] payload = verify(token);
+        if (payload == null) {
+            return null;
+        }
+
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(payload))) {
+            if (input.readByte() != VERSION) {
+                return null;
+            }
+            long tokenId = input.readLong();
+            long expiresAt = input.readLong();
+            if (expiresAt <= System.currentTimeMillis() || revokedTokens.get(tokenId) != null) {
+                return null;
+            }
+
+            long id = input.readLong();
+            String username = input.readUTF();
+            Date modifiedDate = input.readBoolean() ? new Date(input.readLong()) : null;
+            int rolesCount = input.readUnsignedShort();
+            List<GrantedRoleDto> roles = new ArrayList<>(rolesCount);
+            for (int i = 0; i < rolesCount; i++) {
+                Long productId = input.readBoolean() ? input.readLong() : null;
+                Role role = Role.ofLevel(input.readByte());
+                if (role == null) {
+                    return null;
+                }
+                roles.add(new GrantedRoleDto(productId, role));
+            }
+            return new VerifiedToken(new UserDto(id, username, null, modifiedDate, roles), expiresAt);
+        } catch (IOException exception) {
+            return null;
+        }
+    }
+
+    /**
+     * @param verifiedToken The verified token
+     * @return true if the token is past half its lifetime and a new one should be issued
+     */
+    public boolean shouldRenew(VerifiedToken verifiedToken) {
+        return verifiedToken.expiresAt() - System.currentTimeMillis() < ttl.toMillis() / 2;
+    }
+
+    /**
+     * Revokes the token until it expires
+     *
+     * @param token The token
+     */
+    public void revokeToken(String token) {
+        byte[] payload = verify(token);
+        if (payload == null) {
+            return;
+        }
+
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(payload))) {
+            input.readByte();
+            long tokenId = input.readLong();
+            long expiresAt = input.readLong();
+            if (expiresAt > System.currentTimeMillis()) {
+                revokedTokens.put(tokenId, Boolean.TRUE, expiresAt);
+            }
+        } catch (IOException ignored) {
+            // Tokens are verified before they are read
+        }
+    }
+
+
+    /**
+     * @return The token's payload, null if its signature is invalid
+     */
+    private byte[] verify(String token) {
+        int separator = token.indexOf('.');
+        if (separator < 0) {
+            return null;
+        }
+        try {
+            byte[] payload = decoder.decode(token.substring(0, separator));
+            byte[] signature = decoder.decode(token.substring(separator + 1));
+            return MessageDigest.isEqual(signature, mac.get().doFinal(payload)) ? payload : null;
+        } catch (IllegalArgumentException exception) {
+            return null;
+        }
+    }
+
+
+    /**
+     * Verified token
+     *
+     * @param user      The token's user
+     * @param expiresAt The token's expiry time in milliseconds
+     */
+    public record VerifiedToken(UserDto user, long expiresAt) {
+    }
+}
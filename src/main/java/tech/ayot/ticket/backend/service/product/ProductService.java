@@ -1,49 +1,79 @@
 package tech.ayot.ticket.backend.service.product;
 
 import jakarta.validation.Valid;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
 import tech.ayot.ticket.backend.annotation.CheckRole;
+import tech.ayot.ticket.backend.cache.ProductIdFilter;
+import tech.ayot.ticket.backend.cache.ProductNameCache;
+import tech.ayot.ticket.backend.cache.SecurityVersionCache;
 import tech.ayot.ticket.backend.model.enumuration.Role;
+import tech.ayot.ticket.backend.dto.product.ProductDto;
+import tech.ayot.ticket.backend.dto.product.ProductSummaryDto;
 import tech.ayot.ticket.backend.dto.product.request.CreateProductRequest;
 import tech.ayot.ticket.backend.dto.product.request.UpdateProductRequest;
 import tech.ayot.ticket.backend.dto.product.response.CreateProductResponse;
+import tech.ayot.ticket.backend.dto.product.response.ListProductResponse;
+import tech.ayot.ticket.backend.dto.product.response.SearchProductResponse;
 import tech.ayot.ticket.backend.dto.product.response.ViewProductResponse;
 import tech.ayot.ticket.backend.model.product.Product;
 import tech.ayot.ticket.backend.model.user.User;
 import tech.ayot.ticket.backend.model.user.UserProduct;
+import tech.ayot.ticket.backend.repository.SearchPatterns;
 import tech.ayot.ticket.backend.repository.product.ProductRepository;
-import tech.ayot.ticket.backend.repository.ticket.TicketRepository;
 import tech.ayot.ticket.backend.repository.user.UserProductRepository;
 import tech.ayot.ticket.backend.service.auth.AuthenticationService;
 
+import java.util.Date;
+import java.util.List;
+
 import static tech.ayot.ticket.backend.configuration.WebMvcConfiguration.PRODUCT_ID_PATH_VARIABLE_NAME;
 
 @RestController
 @RequestMapping("/api/product")
 public class ProductService {
 
+    private static final int DEFAULT_SEARCH_LIMIT = 10;
+
+    private static final int MAX_SEARCH_LIMIT = 50;
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final AuthenticationService authenticationService;
 
     private final ProductRepository productRepository;
 
     private final UserProductRepository userProductRepository;
 
-    private final TicketRepository ticketRepository;
+    private final ProductNameCache productNameCache;
+
+    private final SecurityVersionCache securityVersionCache;
+
+    private final ProductIdFilter productIdFilter;
 
     public ProductService(
         AuthenticationService authenticationService,
         ProductRepository productRepository,
         UserProductRepository userProductRepository,
-        TicketRepository ticketRepository
+        ProductNameCache productNameCache,
+        SecurityVersionCache securityVersionCache,
+        ProductIdFilter productIdFilter
     ) {
         this.authenticationService = authenticationService;
         this.productRepository = productRepository;
         this.userProductRepository = userProductRepository;
-        this.ticketRepository = ticketRepository;
+        this.productNameCache = productNameCache;
+        this.securityVersionCache = securityVersionCache;
+        this.productIdFilter = productIdFilter;
     }
 
 
@@ -74,12 +104,14 @@ public class ProductService {
         product.setImageId(request.imageId());
 
         product = productRepository.save(product);
+        productNameCache.evict(product.getName());
 
         UserProduct userProduct = new UserProduct();
         userProduct.setProduct(product);
         userProduct.setUser(user);
         userProduct.setRole(Role.ADMIN);
         userProductRepository.save(userProduct);
+        securityVersionCache.evict(user.getId());
 
         CreateProductResponse response = new CreateProductResponse(product.getId());
         return new ResponseEntity<>(response, HttpStatus.OK);
@@ -91,7 +123,7 @@ public class ProductService {
      */
     @GetMapping(value = {"/{" + PRODUCT_ID_PATH_VARIABLE_NAME + "}"}, produces = {"application/json"})
     public ResponseEntity<ViewProductResponse> view(@PathVariable Long productId) {
-        Product product = productRepository.findProductById(productId);
+        Product product = productIdFilter.mightExist(productId) ? productRepository.findProductById(productId) : null;
         if (product == null) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "There is no product with this id");
         }
@@ -105,6 +137,78 @@ public class ProductService {
         return new ResponseEntity<>(viewProductResponse, HttpStatus.OK);
     }
 
+    /**
+     * Searches products by name
+     *
+     * @param query The search query, matches names starting with or similar to it
+     * @param limit The maximum number of products to return
+     * @return Search product response
+     */
+    @GetMapping(value = {"/search"}, produces = {"application/json"})
+    public ResponseEntity<SearchProductResponse> search(
+        @RequestParam String query,
+        @RequestParam(required = false) Integer limit
+    ) {
+        if (query.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Query is required");
+        }
+
+        int size = limit == null ? DEFAULT_SEARCH_LIMIT : Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT));
+        List<ProductSummaryDto> products = productRepository.searchByName(
+            query,
+            SearchPatterns.startsWith(query),
+            size
+        ).stream().map(product -> new ProductSummaryDto(product.getId(), product.getName())).toList();
+
+        SearchProductResponse response = new SearchProductResponse(products);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    /**
+     * Lists products, a page at a time
+     * <p>
+     *     Pages are keyset-paginated by id, and the next page starts after the nextCursor of the previous page.
+     *     The response has a strong ETag of the version of all products, and requests with a matching
+     *     If-None-Match header are answered with 304 without querying the page.
+     * </p>
+     *
+     * @param cursor     The id of the last product of the previous page, absent for the first page
+     * @param pageSize   The maximum number of products to return
+     * @param webRequest The current request
+     * @return List product response
+     */
+    @Transactional(readOnly = true)
+    @GetMapping(value = {""}, produces = {"application/json"})
+    public ResponseEntity<ListProductResponse> list(
+        @RequestParam(required = false) Long cursor,
+        @RequestParam(required = false) Integer pageSize,
+        WebRequest webRequest
+    ) {
+        String eTag = createCatalogETag(productRepository.findCatalogVersion());
+        if (webRequest.checkNotModified(eTag)) {
+            // The response is already a 304 with the ETag
+            return null;
+        }
+
+        int size = pageSize == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(pageSize, MAX_PAGE_SIZE));
+        // One extra product is fetched to know whether there is a next page
+        List<ProductDto> products = productRepository.findProductDtosAfter(
+            cursor == null ? 0 : cursor,
+            PageRequest.ofSize(size + 1)
+        );
+        Long nextCursor = null;
+        if (products.size() > size) {
+            products = products.subList(0, size);
+            nextCursor = products.get(size - 1).id();
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(eTag);
+        headers.setCacheControl(CacheControl.noCache().cachePrivate());
+        ListProductResponse response = new ListProductResponse(products, nextCursor);
+        return new ResponseEntity<>(response, headers, HttpStatus.OK);
+    }
+
     /**
      * Updates an existing product
      *
@@ -121,7 +225,7 @@ public class ProductService {
         @PathVariable Long productId,
         @RequestBody @Valid UpdateProductRequest request
     ) {
-        Product product = productRepository.findProductById(productId);
+        Product product = productIdFilter.mightExist(productId) ? productRepository.findProductById(productId) : null;
         if (product == null) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "There is no product with this id");
         }
@@ -134,12 +238,17 @@ public class ProductService {
         product.setImageId(request.imageId());
 
         productRepository.save(product);
+        productNameCache.evict(productId);
 
         return new ResponseEntity<>(HttpStatus.OK);
     }
 
     /**
      * Deletes a product
+     * <p>
+     *     The product and its user products are deleted with two set-based statements,
+     *     however many users the product has.
+     * </p>
      *
      * @param productId The product's I
      */
@@ -147,16 +256,30 @@ public class ProductService {
     @CheckRole(role = Role.ADMIN)
     @DeleteMapping(value = {"/{" + PRODUCT_ID_PATH_VARIABLE_NAME + "}"})
     public ResponseEntity<Void> delete(@PathVariable Long productId) {
-        if (!productRepository.existsById(productId)) {
+        if (!productIdFilter.mightExist(productId)) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "There is no product with this id");
         }
-        if (ticketRepository.existsByProductId(productId)) {
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Cannot delete a product which has a ticket");
-        }
 
+        // Throwing rolls back deleted user products if the product is not deleted
         userProductRepository.deleteAllByProductId(productId);
-        productRepository.deleteById(productId);
+        if (productRepository.deleteByIdIfItHasNoTicket(productId) == 0) {
+            if (!productRepository.existsById(productId)) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "There is no product with this id");
+            }
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Cannot delete a product which has a ticket");
+        }
+        productNameCache.evict(productId);
+        securityVersionCache.evictByProductId(productId);
 
         return new ResponseEntity<>(HttpStatus.OK);
     }
+
+
+    private static String createCatalogETag(ProductRepository.CatalogVersion catalogVersion) {
+        // The maximum modified date alone misses deletes, so the count and the sum of versions are included
+        Date lastModifiedDate = catalogVersion.getLastModifiedDate();
+        return "\"" + Long.toHexString(catalogVersion.getCount())
+            + "-" + Long.toHexString(lastModifiedDate == null ? 0 : lastModifiedDate.getTime())
+            + "-" + Long.toHexString(catalogVersion.getVersionSum()) + "\"";
+    }
 }
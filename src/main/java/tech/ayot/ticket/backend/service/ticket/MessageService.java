@@ -1,13 +1,16 @@
 package tech.ayot.ticket.backend.service.ticket;
 
 import jakarta.validation.Valid;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import tech.ayot.ticket.backend.dto.ticket.MessageDto;
 import tech.ayot.ticket.backend.dto.ticket.request.CreateMessageRequest;
+import tech.ayot.ticket.backend.dto.ticket.response.ListMessageResponse;
 import tech.ayot.ticket.backend.model.enumuration.TicketStatus;
 import tech.ayot.ticket.backend.model.ticket.Message;
 import tech.ayot.ticket.backend.model.ticket.Ticket;
@@ -15,10 +18,16 @@ import tech.ayot.ticket.backend.repository.ticket.MessageRepository;
 import tech.ayot.ticket.backend.repository.ticket.TicketRepository;
 import tech.ayot.ticket.backend.service.auth.AuthenticationService;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/message")
 public class MessageService {
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+
+    private static final int MAX_PAGE_SIZE = 200;
+
     private final AuthenticationService authenticationService;
     private final MessageRepository messageRepository;
     private final TicketRepository ticketRepository;
@@ -59,4 +68,46 @@ public class MessageService {
 
         return new ResponseEntity<>(HttpStatus.OK);
     }
+
+    /**
+     * Lists messages of a ticket
+     * <p>
+     *     Messages are paginated by id. Pass nextAfterId of a response as afterId
+     *     to get the next page, or to get only messages created since then.
+     * </p>
+     *
+     * @param ticketId The ticket's ID
+     * @param afterId  Only messages with a greater ID are returned
+     * @param pageSize The maximum number of messages to return
+     * @return List message response
+     */
+    @GetMapping(
+        value = {"/{ticketId}"},
+        produces = {MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<ListMessageResponse> list(
+        @PathVariable Long ticketId,
+        @RequestParam(required = false, defaultValue = "0") Long afterId,
+        @RequestParam(required = false) Integer pageSize
+    ) {
+        int size = pageSize == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(pageSize, MAX_PAGE_SIZE));
+
+        // Fetch one extra message to find out if there is a next page
+        List<MessageDto> messages = messageRepository.findMessageDtos(
+            ticketId,
+            afterId,
+            PageRequest.of(0, size + 1)
+        );
+        if (messages.isEmpty() && !ticketRepository.existsById(ticketId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Ticket not found!");
+        }
+
+        boolean hasNext = messages.size() > size;
+        if (hasNext) {
+            messages = messages.subList(0, size);
+        }
+        Long nextAfterId = messages.isEmpty() ? afterId : messages.get(messages.size() - 1).id();
+
+        ListMessageResponse response = new ListMessageResponse(messages, hasNext, nextAfterId);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
 }
@@ -1,11 +1,17 @@
 package tech.ayot.ticket.backend.service.ticket;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import jakarta.validation.Valid;
-import jakarta.validation.constraints.NotNull;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -14,31 +20,39 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 import tech.ayot.ticket.backend.annotation.CheckRole;
-import tech.ayot.ticket.backend.dto.ticket.MessageDto;
+import tech.ayot.ticket.backend.cache.ProductIdFilter;
+import tech.ayot.ticket.backend.cache.ProductNameCache;
+import tech.ayot.ticket.backend.cache.TicketCountCache;
+import tech.ayot.ticket.backend.cache.TicketProductsCache;
+import tech.ayot.ticket.backend.dto.auth.UserDto;
+import tech.ayot.ticket.backend.dto.ticket.PaginationMode;
+import tech.ayot.ticket.backend.dto.ticket.TicketCursor;
 import tech.ayot.ticket.backend.dto.ticket.TicketDto;
 import tech.ayot.ticket.backend.dto.ticket.request.CreateTicketRequest;
 import tech.ayot.ticket.backend.dto.ticket.request.ListTicketRequest;
 import tech.ayot.ticket.backend.dto.ticket.request.UpdateTicketRequest;
 import tech.ayot.ticket.backend.dto.ticket.response.ListTicketResponse;
 import tech.ayot.ticket.backend.dto.ticket.response.ListUserTicketsProductsResponse;
+import tech.ayot.ticket.backend.dto.ticket.response.SearchTicketResponse;
 import tech.ayot.ticket.backend.dto.ticket.response.ViewTicketResponse;
+import tech.ayot.ticket.backend.interceptor.QueryCountInspector;
 import tech.ayot.ticket.backend.model.enumuration.Role;
 import tech.ayot.ticket.backend.model.enumuration.TicketStatus;
 import tech.ayot.ticket.backend.model.enumuration.TicketType;
 import tech.ayot.ticket.backend.model.product.Product;
-import tech.ayot.ticket.backend.model.ticket.Message;
 import tech.ayot.ticket.backend.model.ticket.Ticket;
-import tech.ayot.ticket.backend.model.user.User;
 import tech.ayot.ticket.backend.repository.product.ProductRepository;
-import tech.ayot.ticket.backend.repository.ticket.MessageRepository;
 import tech.ayot.ticket.backend.repository.ticket.TicketRepository;
+import tech.ayot.ticket.backend.repository.ticket.TicketSpecifications;
 import tech.ayot.ticket.backend.service.auth.AuthenticationService;
+import tech.ayot.ticket.backend.service.auth.RoleService;
 
-import java.time.Duration;
-import java.time.Instant;
-import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
 
 import static tech.ayot.ticket.backend.configuration.WebMvcConfiguration.PRODUCT_ID_PATH_VARIABLE_NAME;
 
@@ -46,21 +60,51 @@ import static tech.ayot.ticket.backend.configuration.WebMvcConfiguration.PRODUCT
 @RequestMapping("/api")
 public class TicketService {
 
+    private static final int DEFAULT_PAGE_SIZE = 10;
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private static final int DEFAULT_SEARCH_LIMIT = 20;
+
+    private static final int MAX_SEARCH_LIMIT = 100;
+
     private final AuthenticationService authenticationService;
+    private final RoleService roleService;
     private final ProductRepository productRepository;
     private final TicketRepository ticketRepository;
-    private final MessageRepository messageRepository;
+    private final TicketCountCache ticketCountCache;
+
+    private final ProductNameCache productNameCache;
+    private final ProductIdFilter productIdFilter;
+    private final TicketProductsCache ticketProductsCache;
+
+    /**
+     * Number of SQL statements executed to list a page of tickets
+     */
+    private final DistributionSummary listQueries;
 
     public TicketService(
         AuthenticationService authenticationService,
+        RoleService roleService,
         ProductRepository productRepository,
         TicketRepository ticketRepository,
-        MessageRepository messageRepository
+        TicketCountCache ticketCountCache,
+        ProductNameCache productNameCache,
+        ProductIdFilter productIdFilter,
+        TicketProductsCache ticketProductsCache,
+        MeterRegistry meterRegistry
     ) {
         this.authenticationService = authenticationService;
+        this.roleService = roleService;
         this.productRepository = productRepository;
         this.ticketRepository = ticketRepository;
-        this.messageRepository = messageRepository;
+        this.ticketCountCache = ticketCountCache;
+        this.productNameCache = productNameCache;
+        this.productIdFilter = productIdFilter;
+        this.ticketProductsCache = ticketProductsCache;
+        this.listQueries = DistributionSummary.builder("tickets.list.queries")
+            .description("SQL statements executed to list a page of tickets")
+            .register(meterRegistry);
     }
 
 
@@ -74,62 +118,56 @@ public class TicketService {
         @PathVariable Long productId,
         @Valid @RequestBody CreateTicketRequest request
     ) {
-        Product product = productRepository.findProductById(productId);
-        if (product == null) {
+        // Only the product's id is needed, so the product and the users auditing it are not loaded
+        if (!productIdFilter.mightExist(productId) || !productRepository.existsById(productId)) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Product not found!");
         }
 
         Ticket ticket = new Ticket();
         ticket.setType(request.type());
-        ticket.setProduct(product);
+        ticket.setProduct(productRepository.getReferenceById(productId));
         ticket.setTitle(request.title());
         ticket.setDescription(request.description());
         ticket.setDeadline(request.deadline());
         ticket.setStatus(TicketStatus.OPEN);
         ticketRepository.save(ticket);
 
+        ticketProductsCache.evict(authenticationService.getCurrentUserDto().getId());
+
         return new ResponseEntity<>(ticket.getId(), HttpStatus.OK);
     }
 
+    /**
+     * Views a ticket with its messages
+     * <p>
+     *     The response is assembled by the database in a single query and written as is,
+     *     without loading any entity.
+     * </p>
+     *
+     * @param productId The product's ID
+     * @param id        The ticket's ID
+     * @return JSON of {@link ViewTicketResponse}
+     */
+    @ApiResponse(content = @Content(schema = @Schema(implementation = ViewTicketResponse.class)))
     @GetMapping(
         value = {"/product/{" + PRODUCT_ID_PATH_VARIABLE_NAME + "}/ticket/{id}"},
         produces = {MediaType.APPLICATION_JSON_VALUE}
     )
-    public ResponseEntity<ViewTicketResponse> view(
+    public ResponseEntity<byte[]> view(
         @PathVariable Long productId,
         @PathVariable Long id
     ) {
-        if (!productRepository.existsById(productId)) {
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Product not found!");
-        }
-
-        Ticket ticket = ticketRepository.findTicketById(id);
-        if (ticket == null || !ticket.getProduct().getId().equals(productId)) {
+        byte[] response = ticketRepository.findViewTicketJson(productId, id, TimeZone.getDefault().getID());
+        if (response == null) {
+            if (!productIdFilter.mightExist(productId) || !productRepository.existsById(productId)) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Product not found!");
+            }
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Ticket not found!");
         }
 
-        List<Message> messages = messageRepository.findByTicketId(ticket.getId());
-
-        ViewTicketResponse response = new ViewTicketResponse(
-            ticket.getId(),
-            ticket.getCreatedBy().getUsername(),
-            ticket.getProduct().getId(),
-            ticket.getCreationDate(),
-            ticket.getType(),
-            ticket.getTitle(),
-            ticket.getDescription(),
-            ticket.getDeadline(),
-            ticket.getStatus(),
-            messages.stream().map(message -> new MessageDto(
-                message.getId(),
-                message.getCreatedBy().getId(),
-                message.getCreatedBy().getUsername(),
-                message.getContent(),
-                message.getCreationDate()
-            )).toList()
-        );
-
-        return new ResponseEntity<>(response, HttpStatus.OK);
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(response);
     }
 
     @GetMapping(
@@ -137,29 +175,44 @@ public class TicketService {
         produces = {MediaType.APPLICATION_JSON_VALUE}
     )
     public ResponseEntity<ListTicketResponse> list(
-        @RequestParam @NotNull Integer page,
+        @RequestParam(required = false, defaultValue = "OFFSET") PaginationMode mode,
+        @RequestParam(required = false) Integer page,
+        @RequestParam(required = false) String cursor,
         @RequestParam(required = false) Integer pageSize,
         @RequestParam(required = false) String order,
         @RequestParam(required = false) Sort.Direction direction,
         @RequestParam(required = false) TicketType type,
         @RequestParam(required = false) String productName,
+        @RequestParam(required = false) Long productId,
         @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") Date createdAfter,
         @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") Date createdBefore,
         @RequestParam(required = false) TicketStatus status
     ) {
-        User user = authenticationService.getCurrentUser();
+        UserDto user = authenticationService.getCurrentUserDto();
         ListTicketRequest request = new ListTicketRequest(
+            mode,
             page,
+            cursor,
             pageSize,
             order,
             direction,
             type,
             productName,
+            productId,
             createdAfter,
             createdBefore,
             status
         );
-        ListTicketResponse response = listTickets(request, request.productName(), user.getId());
+
+        // Resolve product name, so tickets are filtered without joining products
+        if (productId == null && productName != null) {
+            productId = productNameCache.getProductId(productName);
+            if (productId == null) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Product not found!");
+            }
+        }
+
+        ListTicketResponse response = listTickets(request, productId, user.getId());
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
@@ -170,7 +223,9 @@ public class TicketService {
     )
     public ResponseEntity<ListTicketResponse> listAdmin(
         @PathVariable Long productId,
-        @RequestParam @NotNull Integer page,
+        @RequestParam(required = false, defaultValue = "OFFSET") PaginationMode mode,
+        @RequestParam(required = false) Integer page,
+        @RequestParam(required = false) String cursor,
         @RequestParam(required = false) Integer pageSize,
         @RequestParam(required = false) String order,
         @RequestParam(required = false) Sort.Direction direction,
@@ -179,23 +234,25 @@ public class TicketService {
         @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") Date createdBefore,
         @RequestParam(required = false) TicketStatus status
     ) {
-        Product product = productRepository.findProductById(productId);
-        if (product == null) {
+        if (!productIdFilter.mightExist(productId) || !productRepository.existsById(productId)) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Product not found!");
         }
 
         ListTicketRequest request = new ListTicketRequest(
+            mode,
             page,
+            cursor,
             pageSize,
             order,
             direction,
             type,
             null,
+            productId,
             createdAfter,
             createdBefore,
             status
         );
-        ListTicketResponse response = listTickets(request, product.getName(), null);
+        ListTicketResponse response = listTickets(request, productId, null);
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
@@ -210,7 +267,7 @@ public class TicketService {
         @PathVariable Long id,
         @Valid @RequestBody UpdateTicketRequest request
     ) {
-        Product product = productRepository.findProductById(productId);
+        Product product = productIdFilter.mightExist(productId) ? productRepository.findProductById(productId) : null;
         if (product == null) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Product not found!");
         }
@@ -235,65 +292,256 @@ public class TicketService {
         produces = {MediaType.APPLICATION_JSON_VALUE}
     )
     public ResponseEntity<ListUserTicketsProductsResponse> listUserTicketsProducts() {
-        User user = authenticationService.getCurrentUser();
+        UserDto user = authenticationService.getCurrentUserDto();
 
-        List<Ticket> tickets = ticketRepository.findTicketsByCreatedBy(user);
-        List<String> productNames = new ArrayList<>();
-        for (Ticket ticket : tickets) {
-            productNames.add(ticket.getTitle());
-        }
+        List<String> productNames = ticketProductsCache.getProductNames(user.getId());
 
         ListUserTicketsProductsResponse response = new ListUserTicketsProductsResponse(productNames);
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
+    /**
+     * Searches tickets by their title, description and messages
+     * <p>
+     *     Staff can search tickets of their products, and root staff can search tickets of all products.
+     *     Search indexes are updated with the tickets, so new tickets and messages are found immediately.
+     * </p>
+     *
+     * @param query     The search query, supports quoted phrases, or and -excluded words
+     * @param productId The product's id, null means all products
+     * @param status    The ticket's status
+     * @param limit     The maximum number of tickets to return
+     * @return Search ticket response
+     */
+    @GetMapping(
+        value = {"/ticket/search"},
+        produces = {MediaType.APPLICATION_JSON_VALUE}
+    )
+    public ResponseEntity<SearchTicketResponse> search(
+        @RequestParam String query,
+        @RequestParam(required = false) Long productId,
+        @RequestParam(required = false) TicketStatus status,
+        @RequestParam(required = false) Integer limit
+    ) {
+        if (!roleService.userHasRole(productId, Role.STAFF)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Access denied!");
+        }
+        if (query.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Query is required");
+        }
+
+        int size = limit == null ? DEFAULT_SEARCH_LIMIT : Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT));
+        List<Long> ticketIds = ticketRepository.searchTicketIds(
+            query,
+            productId,
+            status == null ? null : status.name(),
+            size
+        );
+
+        List<TicketDto> tickets = List.of();
+        if (!ticketIds.isEmpty()) {
+            // Restore the relevance order of the matching tickets
+            Map<Long, Integer> ranks = new HashMap<>();
+            for (int i = 0; i < ticketIds.size(); i++) {
+                ranks.put(ticketIds.get(i), i);
+            }
+            tickets = ticketRepository.findTicketDtos(
+                TicketSpecifications.hasIdIn(ticketIds),
+                Sort.unsorted(),
+                0,
+                ticketIds.size()
+            ).stream().sorted(Comparator.comparing(ticket -> ranks.get(ticket.ticketId()))).toList();
+        }
+
+        SearchTicketResponse response = new SearchTicketResponse(tickets);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
 
     private ListTicketResponse listTickets(
         ListTicketRequest request,
-        String productName,
+        Long productId,
+        Long userId
+    ) {
+        long queryCount = QueryCountInspector.count();
+        ListTicketResponse response = request.mode() == PaginationMode.CURSOR
+            ? listTicketsByCursor(request, productId, userId)
+            : listTicketsByPage(request, productId, userId);
+        listQueries.record(QueryCountInspector.count() - queryCount);
+        return response;
+    }
+
+    private ListTicketResponse listTicketsByPage(
+        ListTicketRequest request,
+        Long productId,
         Long userId
     ) {
+        if (request.page() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Page is required");
+        }
+
         Pageable pageRequest;
         if (request.order() == null) {
             pageRequest = PageRequest.of(
                 request.page(),
-                request.pageSize() == null ? 10 : request.pageSize()
+                resolvePageSize(request)
             );
         } else {
             pageRequest = PageRequest.of(
                 request.page(),
-                request.pageSize() == null ? 10 : request.pageSize(),
+                resolvePageSize(request),
                 Sort.by(request.direction() == null ? Sort.Direction.ASC : request.direction(), request.order())
             );
         }
-        Date createdAfter = request.createdAfter() == null ? Date.from(Instant.EPOCH) : request.createdAfter();
-        Date createdBefore = request.createdBefore() == null ? Date.from(Instant.now().plus(Duration.ofDays(365))) : request.createdBefore();
-        Page<Ticket> tickets = ticketRepository.listAllByUser(
+        Specification<Ticket> specification = toSpecification(request, productId, userId);
+        int pageSize = pageRequest.getPageSize();
+
+        if (request.mode() == PaginationMode.OFFSET) {
+            List<TicketDto> content = ticketRepository.findTicketDtos(
+                specification,
+                pageRequest.getSort(),
+                pageRequest.getOffset(),
+                pageSize
+            );
+            Page<TicketDto> tickets = PageableExecutionUtils.getPage(
+                content,
+                pageRequest,
+                () -> ticketRepository.count(specification)
+            );
+
+            return new ListTicketResponse(
+                tickets.getTotalPages(),
+                false,
+                tickets.getNumber(),
+                tickets.getNumberOfElements(),
+                tickets.hasNext(),
+                tickets.getContent(),
+                null
+            );
+        }
+
+        // Fetch one extra ticket to find out if there is a next page without counting
+        List<TicketDto> tickets = ticketRepository.findTicketDtos(
+            specification,
+            pageRequest.getSort(),
+            pageRequest.getOffset(),
+            pageSize + 1
+        );
+        boolean hasNext = tickets.size() > pageSize;
+        if (hasNext) {
+            tickets = tickets.subList(0, pageSize);
+        }
+
+        Integer totalPages = null;
+        Boolean approximate = null;
+        if (request.mode() == PaginationMode.APPROXIMATE) {
+            long count = ticketCountCache.count(toFilter(request, productId, userId), specification);
+            totalPages = (int) ((count + pageSize - 1) / pageSize);
+            // A stale count must not contradict the page which has just been read
+            if (!tickets.isEmpty()) {
+                totalPages = Math.max(totalPages, request.page() + (hasNext ? 2 : 1));
+            }
+            approximate = true;
+        }
+
+        return new ListTicketResponse(
+            totalPages,
+            approximate,
+            request.page(),
+            tickets.size(),
+            hasNext,
+            tickets,
+            null
+        );
+    }
+
+    private static int resolvePageSize(ListTicketRequest request) {
+        Integer pageSize = request.pageSize();
+        return pageSize == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(pageSize, MAX_PAGE_SIZE));
+    }
+
+    private ListTicketResponse listTicketsByCursor(
+        ListTicketRequest request,
+        Long productId,
+        Long userId
+    ) {
+        // Order and direction of a continued listing are taken from its cursor
+        TicketCursor cursor = null;
+        String order;
+        Sort.Direction direction;
+        if (request.cursor() != null) {
+            try {
+                cursor = TicketCursor.decode(request.cursor());
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor is not valid");
+            }
+            order = cursor.order();
+            direction = cursor.direction();
+        } else {
+            order = request.order() == null ? TicketCursor.ORDER_ID : request.order();
+            direction = request.direction() == null ? Sort.Direction.ASC : request.direction();
+            if (!TicketCursor.supportsOrder(order)) {
+                throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "Cursor pagination only supports ordering by id or creationDate"
+                );
+            }
+        }
+
+        // Seek past the cursor and fetch one extra ticket to find out if there is a next page
+        int pageSize = resolvePageSize(request);
+        Sort sort = Sort.by(direction, order);
+        if (!TicketCursor.ORDER_ID.equals(order)) {
+            sort = sort.and(Sort.by(direction, TicketCursor.ORDER_ID));
+        }
+        Specification<Ticket> specification = toSpecification(request, productId, userId)
+            .and(TicketSpecifications.after(cursor));
+        List<TicketDto> tickets = ticketRepository.findTicketDtos(specification, sort, 0, pageSize + 1);
+
+        String nextCursor = null;
+        if (tickets.size() > pageSize) {
+            tickets = tickets.subList(0, pageSize);
+            nextCursor = TicketCursor.of(order, direction, tickets.get(pageSize - 1)).encode();
+        }
+
+        return new ListTicketResponse(
+            null,
+            null,
+            null,
+            tickets.size(),
+            nextCursor != null,
+            tickets,
+            nextCursor
+        );
+    }
+
+    private static TicketCountCache.Filter toFilter(
+        ListTicketRequest request,
+        Long productId,
+        Long userId
+    ) {
+        return new TicketCountCache.Filter(
             userId,
             request.type(),
-            productName,
-            createdAfter,
-            createdBefore,
-            request.status(),
-            pageRequest
+            productId,
+            request.createdAfter(),
+            request.createdBefore(),
+            request.status()
         );
+    }
 
-        return new ListTicketResponse(
-            tickets.getTotalPages(),
-            tickets.getNumber(),
-            tickets.getNumberOfElements(),
-            tickets.getContent().stream().map(ticket -> new TicketDto(
-                ticket.getId(),
-                ticket.getCreatedBy().getUsername(),
-                ticket.getCreationDate(),
-                ticket.getType(),
-                ticket.getTitle(),
-                ticket.getDescription(),
-                ticket.getDeadline(),
-                ticket.getStatus(),
-                ticket.getProduct().getId(),
-                ticket.getProduct().getName()
-            )).toList()
+    private static Specification<Ticket> toSpecification(
+        ListTicketRequest request,
+        Long productId,
+        Long userId
+    ) {
+        return TicketSpecifications.filter(
+            userId,
+            request.type(),
+            productId,
+            request.createdAfter(),
+            request.createdBefore(),
+            request.status()
         );
     }
 }
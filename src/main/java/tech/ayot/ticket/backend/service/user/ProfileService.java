@@ -7,6 +7,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import tech.ayot.ticket.backend.cache.SecurityVersionCache;
 import tech.ayot.ticket.backend.dto.user.request.UpdateProfileRequest;
 import tech.ayot.ticket.backend.dto.user.response.ViewProfileResponse;
 import tech.ayot.ticket.backend.model.user.User;
@@ -23,13 +24,17 @@ public class ProfileService {
 
     private final PasswordEncoder passwordEncoder;
 
+    private final SecurityVersionCache securityVersionCache;
+
     public ProfileService(
         UserRepository userRepository,
         AuthenticationService authenticationService,
-        PasswordEncoder passwordEncoder) {
+        PasswordEncoder passwordEncoder,
+        SecurityVersionCache securityVersionCache) {
         this.userRepository = userRepository;
         this.authenticationService = authenticationService;
         this.passwordEncoder = passwordEncoder;
+        this.securityVersionCache = securityVersionCache;
     }
 
 
@@ -95,6 +100,7 @@ public class ProfileService {
 
         // Save user
         userRepository.save(user);
+        securityVersionCache.evict(user.getId());
 
         ViewProfileResponse viewProfileResponse = new ViewProfileResponse(
             user.getVersion(),
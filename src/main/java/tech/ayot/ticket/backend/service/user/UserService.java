@@ -0,0 +1,63 @@
+package tech.ayot.ticket.backend.service.user;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import tech.ayot.ticket.backend.annotation.CheckRole;
+import tech.ayot.ticket.backend.dto.user.UserSummaryDto;
+import tech.ayot.ticket.backend.dto.user.response.SearchUserResponse;
+import tech.ayot.ticket.backend.model.enumuration.Role;
+import tech.ayot.ticket.backend.repository.SearchPatterns;
+import tech.ayot.ticket.backend.repository.user.UserRepository;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/user")
+public class UserService {
+
+    private static final int DEFAULT_SEARCH_LIMIT = 10;
+
+    private static final int MAX_SEARCH_LIMIT = 50;
+
+    private final UserRepository userRepository;
+
+    public UserService(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+
+    /**
+     * Searches users by username, first name and last name
+     *
+     * @param query The search query, matches values starting with or similar to it
+     * @param limit The maximum number of users to return
+     * @return Search user response
+     */
+    @CheckRole(rootRole = Role.ADMIN)
+    @GetMapping(value = {"/search"}, produces = {"application/json"})
+    public ResponseEntity<SearchUserResponse> search(
+        @RequestParam String query,
+        @RequestParam(required = false) Integer limit
+    ) {
+        if (query.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Query is required");
+        }
+
+        int size = limit == null ? DEFAULT_SEARCH_LIMIT : Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT));
+        List<UserSummaryDto> users = userRepository.search(
+            query,
+            SearchPatterns.startsWith(query),
+            size
+        ).stream().map(user -> new UserSummaryDto(
+            user.getId(),
+            user.getUsername(),
+            user.getFirstName(),
+            user.getLastName()
+        )).toList();
+
+        SearchUserResponse response = new SearchUserResponse(users);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+}
@@ -0,0 +1,14 @@
+-- Runs after Hibernate has updated the schema, creates objects that cannot be mapped by entities
+
+-- Full-text search of tickets, see TicketRepository#searchTicketIds
+create index if not exists idx_tickets_search on tickets
+    using gin (to_tsvector('english', coalesce(title, '') || ' ' || coalesce(description, '')));
+create index if not exists idx_messages_search on messages
+    using gin (to_tsvector('english', coalesce(content, '')));
+
+-- Prefix and fuzzy search of products and users, see ProductRepository#searchByName and UserRepository#search
+create extension if not exists pg_trgm;
+create index if not exists idx_products_name_trgm on products using gin (name gin_trgm_ops);
+create index if not exists idx_users_username_trgm on users using gin (username gin_trgm_ops);
+create index if not exists idx_users_first_name_trgm on users using gin (first_name gin_trgm_ops);
+create index if not exists idx_users_last_name_trgm on users using gin (last_name gin_trgm_ops);
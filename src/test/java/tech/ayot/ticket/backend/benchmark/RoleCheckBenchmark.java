@@ -0,0 +1,82 @@
+package tech.ayot.ticket.backend.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import tech.ayot.ticket.backend.dto.auth.GrantedRoleDto;
+import tech.ayot.ticket.backend.dto.auth.UserDto;
+import tech.ayot.ticket.backend.model.enumuration.Role;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures role checks of users with many product roles
+ * <p>
+ *     Compares streaming over the user's roles with the user's {@link tech.ayot.ticket.backend.dto.auth.RoleIndex},
+ *     for a product the user has a role in and one it has not.
+ *     Run with {@code ./mvnw test-compile exec:java -Dexec.classpathScope=test
+ *     -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args=RoleCheckBenchmark}
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RoleCheckBenchmark {
+
+    @Param({"10", "100", "500"})
+    public int roles;
+
+    private UserDto userDto;
+
+    private Long grantedProductId;
+
+    private Long otherProductId;
+
+
+    @Setup
+    public void setUp() {
+        List<GrantedRoleDto> grantedRoles = new ArrayList<>();
+        grantedRoles.add(new GrantedRoleDto(null, Role.USER));
+        for (long productId = 1; productId <= roles; productId++) {
+            grantedRoles.add(new GrantedRoleDto(productId * 1000, Role.STAFF));
+        }
+        userDto = new UserDto(1L, "username", null, null, grantedRoles);
+        grantedProductId = roles / 2 * 1000L;
+        otherProductId = -1L;
+    }
+
+
+    @Benchmark
+    public boolean streamGrantedProduct() {
+        return streamHasRole(grantedProductId, Role.STAFF);
+    }
+
+    @Benchmark
+    public boolean streamOtherProduct() {
+        return streamHasRole(otherProductId, Role.STAFF);
+    }
+
+    @Benchmark
+    public boolean indexGrantedProduct() {
+        return userDto.getRoleIndex().getLevel(grantedProductId) >= Role.STAFF.getLevel();
+    }
+
+    @Benchmark
+    public boolean indexOtherProduct() {
+        return userDto.getRoleIndex().getLevel(otherProductId) >= Role.STAFF.getLevel();
+    }
+
+
+    /**
+     * The role check before roles were indexed
+     */
+    private boolean streamHasRole(Long productId, Role role) {
+        return userDto.getRoles().stream().anyMatch(grantedRole ->
+            (grantedRole.getProductId() == null || grantedRole.getProductId().equals(productId))
+                && grantedRole.getRole().getLevel() >= role.getLevel()
+        );
+    }
+}
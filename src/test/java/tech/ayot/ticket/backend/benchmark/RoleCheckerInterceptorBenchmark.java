@@ -0,0 +1,106 @@
+package tech.ayot.ticket.backend.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationToken;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import tech.ayot.ticket.backend.annotation.CheckRole;
+import tech.ayot.ticket.backend.dto.auth.GrantedRoleDto;
+import tech.ayot.ticket.backend.dto.auth.UserDto;
+import tech.ayot.ticket.backend.interceptor.RoleCheckerInterceptor;
+import tech.ayot.ticket.backend.model.enumuration.Role;
+import tech.ayot.ticket.backend.service.auth.RoleService;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static tech.ayot.ticket.backend.configuration.WebMvcConfiguration.PRODUCT_ID_PATH_VARIABLE_NAME;
+
+/**
+ * Measures the overhead of {@link RoleCheckerInterceptor} per request
+ * <p>
+ *     Calls the interceptor for a handler without {@link CheckRole}, one requiring a product role
+ *     and one requiring a root role.
+ *     Run with {@code ./mvnw test-compile exec:java -Dexec.classpathScope=test
+ *     -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args=RoleCheckerInterceptorBenchmark}
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RoleCheckerInterceptorBenchmark {
+
+    @Param({"open", "product", "root"})
+    public String handler;
+
+    private RoleCheckerInterceptor roleCheckerInterceptor;
+
+    private HandlerMethod handlerMethod;
+
+    private MockHttpServletRequest request;
+
+    private MockHttpServletResponse response;
+
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        roleCheckerInterceptor = new RoleCheckerInterceptor(
+            new RoleService(),
+            new StaticListableBeanFactory().getBeanProvider(RequestMappingHandlerMapping.class)
+        );
+        handlerMethod = new HandlerMethod(new Handlers(), handler);
+
+        request = new MockHttpServletRequest();
+        request.setAttribute(
+            HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE,
+            Map.of(PRODUCT_ID_PATH_VARIABLE_NAME, "3000000000")
+        );
+        response = new MockHttpServletResponse();
+
+        UserDto userDto = new UserDto(1L, "username", null, null, List.of(
+            new GrantedRoleDto(null, Role.ADMIN),
+            new GrantedRoleDto(3000000000L, Role.STAFF)
+        ));
+        SecurityContextHolder.setContext(new SecurityContextImpl(new PreAuthenticatedAuthenticationToken(
+            userDto,
+            null,
+            userDto.getAuthorities()
+        )));
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+
+    @Benchmark
+    public boolean preHandle() {
+        return roleCheckerInterceptor.preHandle(request, response, handlerMethod);
+    }
+
+
+    public static class Handlers {
+
+        public void open() {
+        }
+
+        @CheckRole(role = Role.STAFF)
+        public void product() {
+        }
+
+        @CheckRole(rootRole = Role.ADMIN)
+        public void root() {
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package tech.ayot.ticket.backend.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.autoconfigure.session.JdbcSessionProperties;
+import org.springframework.core.convert.support.GenericConversionService;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationToken;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.Session;
+import org.springframework.session.jdbc.JdbcIndexedSessionRepository;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+import tech.ayot.ticket.backend.dto.auth.UserDto;
+import tech.ayot.ticket.backend.repository.session.SessionAttributeConverter;
+import tech.ayot.ticket.backend.repository.session.SessionAttributeRepository;
+
+import java.util.concurrent.TimeUnit;
+
+import static tech.ayot.ticket.backend.benchmark.SessionRepositoryBenchmark.createUserDto;
+import static tech.ayot.ticket.backend.service.auth.SessionService.SPRING_SECURITY_CONTEXT_TOKEN;
+import static tech.ayot.ticket.backend.service.auth.SessionService.USERNAME_TOKEN;
+
+/**
+ * Measures the time to update the security context of all sessions of a user
+ * <p>
+ *     Compares loading and saving each session with the single statement of {@link SessionAttributeRepository}.
+ *     Run with {@code ./mvnw test-compile exec:java -Dexec.classpathScope=test
+ *     -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args=SessionPropagationBenchmark}
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SessionPropagationBenchmark {
+
+    @Param({"1", "100", "500"})
+    public int sessions;
+
+    @Param({"loop", "batch"})
+    public String mode;
+
+    private PostgreSQLContainer<?> postgresContainer;
+
+    private FindByIndexNameSessionRepository<Session> sessionRepository;
+
+    private SessionAttributeRepository sessionAttributeRepository;
+
+    private UserDto userDto;
+
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        postgresContainer = new PostgreSQLContainer<>(DockerImageName.parse("postgres:14.2-alpine"));
+        postgresContainer.start();
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            postgresContainer.getJdbcUrl(),
+            postgresContainer.getUsername(),
+            postgresContainer.getPassword()
+        );
+        new ResourceDatabasePopulator(
+            new ClassPathResource("org/springframework/session/jdbc/schema-postgresql.sql")
+        ).execute(dataSource);
+
+        SessionAttributeConverter sessionAttributeConverter = new SessionAttributeConverter(
+            true,
+            getClass().getClassLoader()
+        );
+        GenericConversionService conversionService = new GenericConversionService();
+        conversionService.addConverter(sessionAttributeConverter);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        JdbcIndexedSessionRepository jdbcSessionRepository = new JdbcIndexedSessionRepository(
+            jdbcTemplate,
+            new TransactionTemplate(new DataSourceTransactionManager(dataSource))
+        );
+        jdbcSessionRepository.setCleanupCron(Scheduled.CRON_DISABLED);
+        jdbcSessionRepository.setConversionService(conversionService);
+        sessionRepository = (FindByIndexNameSessionRepository<Session>) (FindByIndexNameSessionRepository<?>) jdbcSessionRepository;
+        sessionAttributeRepository = new SessionAttributeRepository(
+            jdbcTemplate,
+            sessionAttributeConverter,
+            new JdbcSessionProperties()
+        );
+
+        // Create sessions of the same user
+        userDto = createUserDto();
+        for (int i = 0; i < sessions; i++) {
+            Session session = sessionRepository.createSession();
+            session.setAttribute(SPRING_SECURITY_CONTEXT_TOKEN, createSecurityContext());
+            session.setAttribute(USERNAME_TOKEN, userDto.getUsername());
+            sessionRepository.save(session);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        postgresContainer.stop();
+    }
+
+
+    @Benchmark
+    public int updateAllSessions() {
+        if (mode.equals("batch")) {
+            return sessionAttributeRepository.updateAttributeByPrincipalName(
+                userDto.getUsername(),
+                SPRING_SECURITY_CONTEXT_TOKEN,
+                createSecurityContext()
+            );
+        }
+
+        int updatedSessions = 0;
+        for (Session session : sessionRepository.findByIndexNameAndIndexValue(
+            USERNAME_TOKEN,
+            userDto.getUsername()
+        ).values()) {
+            session.setAttribute(SPRING_SECURITY_CONTEXT_TOKEN, createSecurityContext());
+            sessionRepository.save(session);
+            updatedSessions++;
+        }
+        return updatedSessions;
+    }
+
+
+    private SecurityContext createSecurityContext() {
+        return new SecurityContextImpl(new PreAuthenticatedAuthenticationToken(
+            userDto,
+            userDto.getPassword(),
+            userDto.getAuthorities()
+        ));
+    }
+}
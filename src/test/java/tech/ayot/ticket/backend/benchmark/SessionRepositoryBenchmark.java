@@ -0,0 +1,132 @@
+package tech.ayot.ticket.backend.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationToken;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.Session;
+import org.springframework.session.jdbc.JdbcIndexedSessionRepository;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+import tech.ayot.ticket.backend.dto.auth.UserDto;
+import tech.ayot.ticket.backend.model.enumuration.Role;
+import tech.ayot.ticket.backend.model.user.User;
+import tech.ayot.ticket.backend.model.user.UserProduct;
+import tech.ayot.ticket.backend.repository.session.CachingSessionRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static tech.ayot.ticket.backend.service.auth.SessionService.SPRING_SECURITY_CONTEXT_TOKEN;
+import static tech.ayot.ticket.backend.service.auth.SessionService.USERNAME_TOKEN;
+
+/**
+ * Measures session requests per second with and without the session cache
+ * <p>
+ *     Every operation loads a session, touches it and saves it the way {@code SessionRepositoryFilter} does.
+ *     Run with {@code ./mvnw test-compile exec:java -Dexec.classpathScope=test
+ *     -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args=SessionRepositoryBenchmark}
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SessionRepositoryBenchmark {
+
+    @Param({"false", "true"})
+    public boolean cached;
+
+    private PostgreSQLContainer<?> postgresContainer;
+
+    private FindByIndexNameSessionRepository<Session> sessionRepository;
+
+    private String sessionId;
+
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        postgresContainer = new PostgreSQLContainer<>(DockerImageName.parse("postgres:14.2-alpine"));
+        postgresContainer.start();
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            postgresContainer.getJdbcUrl(),
+            postgresContainer.getUsername(),
+            postgresContainer.getPassword()
+        );
+        new ResourceDatabasePopulator(
+            new ClassPathResource("org/springframework/session/jdbc/schema-postgresql.sql")
+        ).execute(dataSource);
+
+        JdbcIndexedSessionRepository jdbcSessionRepository = new JdbcIndexedSessionRepository(
+            new JdbcTemplate(dataSource),
+            new TransactionTemplate(new DataSourceTransactionManager(dataSource))
+        );
+        jdbcSessionRepository.setCleanupCron(Scheduled.CRON_DISABLED);
+        if (cached) {
+            sessionRepository = new CachingSessionRepository(
+                jdbcSessionRepository,
+                Duration.ofMinutes(1),
+                1000,
+                Duration.ofMinutes(1),
+                new SimpleMeterRegistry()
+            );
+        } else {
+            sessionRepository = (FindByIndexNameSessionRepository<Session>) (FindByIndexNameSessionRepository<?>) jdbcSessionRepository;
+        }
+
+        // Create a session like a logged-in user's session
+        UserDto userDto = createUserDto();
+        SecurityContext securityContext = new SecurityContextImpl(new PreAuthenticatedAuthenticationToken(
+            userDto,
+            userDto.getPassword(),
+            userDto.getAuthorities()
+        ));
+        Session session = sessionRepository.createSession();
+        session.setAttribute(SPRING_SECURITY_CONTEXT_TOKEN, securityContext);
+        session.setAttribute(USERNAME_TOKEN, userDto.getUsername());
+        sessionRepository.save(session);
+        sessionId = session.getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        postgresContainer.stop();
+    }
+
+
+    @Benchmark
+    public Object request() {
+        Session session = sessionRepository.findById(sessionId);
+        SecurityContext securityContext = session.getAttribute(SPRING_SECURITY_CONTEXT_TOKEN);
+        session.setLastAccessedTime(Instant.now());
+        sessionRepository.save(session);
+        return securityContext.getAuthentication();
+    }
+
+
+    static UserDto createUserDto() {
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("username");
+        user.setPassword("$2a$10$awt8Ppzf2E/.MfDllrvQUecNVCU2U7vpvIXa/XsO.CBDYXLGu8gCe");
+        UserProduct userProduct = new UserProduct();
+        userProduct.setUser(user);
+        userProduct.setRole(Role.SUPER_ADMIN);
+        user.setUserProducts(List.of(userProduct));
+        return new UserDto(user);
+    }
+}
@@ -0,0 +1,80 @@
+package tech.ayot.ticket.backend.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.serializer.support.DeserializingConverter;
+import org.springframework.core.serializer.support.SerializingConverter;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationToken;
+import tech.ayot.ticket.backend.dto.auth.UserDto;
+import tech.ayot.ticket.backend.repository.session.SessionAttributeConverter;
+
+import java.util.concurrent.TimeUnit;
+
+import static tech.ayot.ticket.backend.benchmark.SessionRepositoryBenchmark.createUserDto;
+
+/**
+ * Measures the time to write and read the security context session attribute
+ * with Java serialization and with {@link SessionAttributeConverter}
+ * <p>
+ *     The size of the stored attribute in each format is printed when the benchmark starts.
+ *     Run with {@code ./mvnw test-compile exec:java -Dexec.classpathScope=test
+ *     -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args=SessionSerializationBenchmark}
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SessionSerializationBenchmark {
+
+    @Param({"java", "compact"})
+    public String format;
+
+    private SecurityContext securityContext;
+
+    private SerializingConverter serializingConverter;
+
+    private DeserializingConverter deserializingConverter;
+
+    private SessionAttributeConverter sessionAttributeConverter;
+
+    private byte[] bytes;
+
+
+    @Setup
+    public void setUp() {
+        UserDto userDto = createUserDto();
+        securityContext = new SecurityContextImpl(new PreAuthenticatedAuthenticationToken(
+            userDto,
+            userDto.getPassword(),
+            userDto.getAuthorities()
+        ));
+        serializingConverter = new SerializingConverter();
+        deserializingConverter = new DeserializingConverter(getClass().getClassLoader());
+        sessionAttributeConverter = new SessionAttributeConverter(true, getClass().getClassLoader());
+
+        bytes = serialize();
+        System.out.println();
+        System.out.println("Security context size in " + format + " format: " + bytes.length + " bytes");
+    }
+
+
+    @Benchmark
+    public byte[] serialize() {
+        if (format.equals("java")) {
+            return serializingConverter.convert(securityContext);
+        }
+        return sessionAttributeConverter.serialize(securityContext);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        if (format.equals("java")) {
+            return deserializingConverter.convert(bytes);
+        }
+        return sessionAttributeConverter.deserialize(bytes);
+    }
+}
@@ -0,0 +1,35 @@
+package tech.ayot.ticket.backend.integration;
+
+import tech.ayot.ticket.backend.interceptor.QueryCountInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records SQL statements prepared by Hibernate on the current thread between {@link #start()} and {@link #stop()}
+ */
+public class SqlStatementRecorder extends QueryCountInspector {
+
+    private static final ThreadLocal<List<String>> STATEMENTS = new ThreadLocal<>();
+
+
+    public static void start() {
+        STATEMENTS.set(new ArrayList<>());
+    }
+
+    public static List<String> stop() {
+        List<String> statements = STATEMENTS.get();
+        STATEMENTS.remove();
+        return statements == null ? List.of() : statements;
+    }
+
+
+    @Override
+    public String inspect(String sql) {
+        List<String> statements = STATEMENTS.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+        return super.inspect(sql);
+    }
+}
@@ -9,11 +9,15 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.session.FindByIndexNameSessionRepository;
 import org.springframework.session.Session;
 import org.springframework.session.jdbc.JdbcIndexedSessionRepository;
+import tech.ayot.ticket.backend.dto.auth.UserDto;
 import tech.ayot.ticket.backend.dto.auth.request.LoginRequest;
 import tech.ayot.ticket.backend.dto.auth.response.LoginResponse;
+import tech.ayot.ticket.backend.dto.auth.response.UsernameAvailabilityResponse;
 import tech.ayot.ticket.backend.integration.BaseIntegrationTest;
+import tech.ayot.ticket.backend.integration.SqlStatementRecorder;
 import tech.ayot.ticket.backend.model.user.User;
 import tech.ayot.ticket.backend.repository.user.UserRepository;
+import tech.ayot.ticket.backend.service.auth.SessionService;
 
 import java.time.Instant;
 import java.util.List;
@@ -34,14 +38,18 @@ public class AuthenticationServiceIntegrationTest extends BaseIntegrationTest {
 
     private final PasswordEncoder passwordEncoder;
 
+    private final SessionService<Session> sessionService;
+
     public AuthenticationServiceIntegrationTest(
         FindByIndexNameSessionRepository<? extends Session> sessionRepository,
         UserRepository userRepository,
-        PasswordEncoder passwordEncoder
+        PasswordEncoder passwordEncoder,
+        SessionService<Session> sessionService
     ) {
         this.sessionRepository = sessionRepository;
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.sessionService = sessionService;
     }
 
 
@@ -200,6 +208,59 @@ public class AuthenticationServiceIntegrationTest extends BaseIntegrationTest {
         );
     }
 
+    @Test
+    public void usernameAvailabilityShouldReturnFalseIfUsernameExists() throws Exception {
+        UsernameAvailabilityResponse response = sendRequest(
+            HttpMethod.GET,
+            "/api/auth/username/availability?username=" + ADMIN_USER,
+            MediaType.APPLICATION_JSON,
+            null,
+            status().isOk(),
+            UsernameAvailabilityResponse.class
+        ).body();
+        Assertions.assertFalse(response.available());
+    }
+
+    @Test
+    public void usernameAvailabilityShouldReturnTrueIfUsernameDoesNotExist() throws Exception {
+        UsernameAvailabilityResponse response = sendRequest(
+            HttpMethod.GET,
+            "/api/auth/username/availability?username=" + testName + "username",
+            MediaType.APPLICATION_JSON,
+            null,
+            status().isOk(),
+            UsernameAvailabilityResponse.class
+        ).body();
+        Assertions.assertTrue(response.available());
+    }
+
+    @Test
+    public void usernameAvailabilityShouldReturn400IfUsernameDoesNotMatchPattern() throws Exception {
+        sendRequest(
+            HttpMethod.GET,
+            "/api/auth/username/availability?username=username!",
+            MediaType.APPLICATION_JSON,
+            null,
+            status().isBadRequest()
+        );
+    }
+
+    @Test
+    public void loadUserByUsernameShouldReadUserFromSecondLevelCache() {
+        // Load user once
+        sessionService.loadUserByUsername(ADMIN_USER);
+
+        // Act
+        SqlStatementRecorder.start();
+        UserDto userDto = sessionService.loadUserByUsername(ADMIN_USER);
+        List<String> statements = SqlStatementRecorder.stop();
+
+        // Assert
+        Assertions.assertEquals(List.of(), statements);
+        Assertions.assertEquals(ADMIN_USER, userDto.getUsername());
+        Assertions.assertFalse(userDto.getRoles().isEmpty());
+    }
+
     @Test
     public void currentUserShouldReturn200AndAdminUser() throws Exception {
         MockMvcResponse<LoginResponse> mockMvcResponse = sendRequest(
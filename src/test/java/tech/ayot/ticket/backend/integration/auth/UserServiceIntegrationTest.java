@@ -0,0 +1,58 @@
+package tech.ayot.ticket.backend.integration.auth;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import tech.ayot.ticket.backend.dto.user.UserSummaryDto;
+import tech.ayot.ticket.backend.dto.user.response.SearchUserResponse;
+import tech.ayot.ticket.backend.integration.BaseIntegrationTest;
+
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class UserServiceIntegrationTest extends BaseIntegrationTest {
+
+    @Test
+    public void searchShouldReturnUsersStartingWithQueryFirst() throws Exception {
+        // Act
+        SearchUserResponse response = sendRequest(
+            HttpMethod.GET,
+            "/api/user/search?query=adm",
+            MediaType.APPLICATION_JSON,
+            null,
+            status().isOk(),
+            SearchUserResponse.class
+        ).body();
+
+        // Assert
+        Assertions.assertEquals(ADMIN_USER, response.content().get(0).username());
+    }
+
+    @Test
+    public void searchShouldReturnUsersSimilarToQuery() throws Exception {
+        // Act
+        SearchUserResponse response = sendRequest(
+            HttpMethod.GET,
+            "/api/user/search?query=admn",
+            MediaType.APPLICATION_JSON,
+            null,
+            status().isOk(),
+            SearchUserResponse.class
+        ).body();
+
+        // Assert
+        Assertions.assertTrue(response.content().stream().map(UserSummaryDto::username).anyMatch(ADMIN_USER::equals));
+    }
+
+    @Test
+    public void searchShouldReturn400IfQueryIsBlank() throws Exception {
+        // Act & Assert
+        sendRequest(
+            HttpMethod.GET,
+            "/api/user/search?query= ",
+            MediaType.APPLICATION_JSON,
+            null,
+            status().isBadRequest()
+        );
+    }
+}
@@ -3,13 +3,21 @@ package tech.ayot.ticket.backend.integration.product;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import tech.ayot.ticket.backend.dto.product.ProductDto;
+import tech.ayot.ticket.backend.dto.product.ProductSummaryDto;
 import tech.ayot.ticket.backend.dto.product.request.CreateProductRequest;
 import tech.ayot.ticket.backend.dto.product.request.UpdateProductRequest;
 import tech.ayot.ticket.backend.dto.product.response.CreateProductResponse;
+import tech.ayot.ticket.backend.dto.product.response.ListProductResponse;
+import tech.ayot.ticket.backend.dto.product.response.SearchProductResponse;
 import tech.ayot.ticket.backend.dto.product.response.ViewProductResponse;
 import tech.ayot.ticket.backend.integration.BaseIntegrationTest;
+import tech.ayot.ticket.backend.integration.SqlStatementRecorder;
 import tech.ayot.ticket.backend.model.enumuration.Role;
 import tech.ayot.ticket.backend.model.product.Product;
 import tech.ayot.ticket.backend.model.user.User;
@@ -18,8 +26,10 @@ import tech.ayot.ticket.backend.repository.product.ProductRepository;
 import tech.ayot.ticket.backend.repository.user.UserProductRepository;
 import tech.ayot.ticket.backend.repository.user.UserRepository;
 
+import java.util.ArrayList;
 import java.util.List;
 
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 public class ProductServiceIntegrationTest extends BaseIntegrationTest {
@@ -30,14 +40,18 @@ public class ProductServiceIntegrationTest extends BaseIntegrationTest {
 
     private final UserProductRepository userProductRepository;
 
+    private final MockMvc mockMvc;
+
     public ProductServiceIntegrationTest(
         UserRepository userRepository,
         ProductRepository productRepository,
-        UserProductRepository userProductRepository
+        UserProductRepository userProductRepository,
+        MockMvc mockMvc
     ) {
         this.userRepository = userRepository;
         this.productRepository = productRepository;
         this.userProductRepository = userProductRepository;
+        this.mockMvc = mockMvc;
     }
 
 
@@ -166,6 +180,38 @@ public class ProductServiceIntegrationTest extends BaseIntegrationTest {
         Assertions.assertEquals(product.getImageId(), response.imageId());
     }
 
+    @Test
+    public void viewShouldReadProductFromSecondLevelCache() throws Exception {
+        // Create product and view it once
+        Product product = new Product();
+        product.setName("name");
+        product = productRepository.save(product);
+        sendRequest(
+            HttpMethod.GET,
+            "/api/product/" + product.getId(),
+            MediaType.APPLICATION_JSON,
+            null,
+            status().isOk(),
+            ViewProductResponse.class
+        );
+
+        // Act
+        SqlStatementRecorder.start();
+        ViewProductResponse response = sendRequest(
+            HttpMethod.GET,
+            "/api/product/" + product.getId(),
+            MediaType.APPLICATION_JSON,
+            null,
+            status().isOk(),
+            ViewProductResponse.class
+        ).body();
+        List<String> statements = SqlStatementRecorder.stop();
+
+        // Assert
+        Assertions.assertEquals(List.of(), statements);
+        Assertions.assertEquals(product.getName(), response.name());
+    }
+
     @Test
     public void viewShouldReturn404IfProductDoesNotExists() throws Exception {
         // Act & Assert
@@ -178,6 +224,101 @@ public class ProductServiceIntegrationTest extends BaseIntegrationTest {
         );
     }
 
+    @Test
+    public void searchShouldReturnProductsStartingWithOrSimilarToQuery() throws Exception {
+        // Create products
+        for (String name : List.of("keyboard-pro", "keyboard", "mouse")) {
+            Product product = new Product();
+            product.setName(name);
+            productRepository.save(product);
+        }
+
+        // Act
+        SearchProductResponse prefixResponse = sendRequest(
+            HttpMethod.GET,
+            "/api/product/search?query=keyb",
+            MediaType.APPLICATION_JSON,
+            null,
+            status().isOk(),
+            SearchProductResponse.class
+        ).body();
+        SearchProductResponse fuzzyResponse = sendRequest(
+            HttpMethod.GET,
+            "/api/product/search?query=keybord",
+            MediaType.APPLICATION_JSON,
+            null,
+            status().isOk(),
+            SearchProductResponse.class
+        ).body();
+
+        // Assert
+        Assertions.assertEquals(
+            List.of("keyboard", "keyboard-pro"),
+            prefixResponse.content().stream().map(ProductSummaryDto::name).toList()
+        );
+        Assertions.assertEquals("keyboard", fuzzyResponse.content().get(0).name());
+        Assertions.assertTrue(fuzzyResponse.content().stream().noneMatch(product -> product.name().equals("mouse")));
+    }
+
+    @Test
+    public void listShouldReturnAllProductsPageByPage() throws Exception {
+        // Create products
+        List<String> names = List.of("product-1", "product-2", "product-3", "product-4", "product-5");
+        for (String name : names) {
+            Product product = new Product();
+            product.setName(name);
+            productRepository.save(product);
+        }
+
+        // Act
+        List<ListProductResponse> responses = new ArrayList<>();
+        Long cursor = null;
+        do {
+            ListProductResponse response = sendRequest(
+                HttpMethod.GET,
+                "/api/product?pageSize=2" + (cursor == null ? "" : "&cursor=" + cursor),
+                MediaType.APPLICATION_JSON,
+                null,
+                status().isOk(),
+                ListProductResponse.class
+            ).body();
+            responses.add(response);
+            cursor = response.nextCursor();
+        } while (cursor != null);
+
+        // Assert
+        Assertions.assertEquals(3, responses.size());
+        Assertions.assertEquals(
+            names,
+            responses.stream().flatMap(response -> response.content().stream()).map(ProductDto::name).toList()
+        );
+    }
+
+    @Test
+    public void listShouldReturn304WithoutQueryingPageIfProductsAreUnchanged() throws Exception {
+        // Create product and list it once
+        Product product = new Product();
+        product.setName("name");
+        product = productRepository.save(product);
+        String eTag = mockMvc.perform(MockMvcRequestBuilders.get("/api/product"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Act
+        SqlStatementRecorder.start();
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/product").header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, eTag));
+        List<String> statements = SqlStatementRecorder.stop();
+
+        // Assert
+        Assertions.assertEquals(1, statements.size());
+        product.setDescription("description");
+        productRepository.save(product);
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/product").header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk());
+    }
+
     @Test
     public void updateShouldUpdateProduct() throws Exception {
         // Create product
@@ -292,6 +433,51 @@ public class ProductServiceIntegrationTest extends BaseIntegrationTest {
         );
     }
 
+    @Test
+    public void deleteShouldDeleteProductWithManyUsersInTwoStatements() throws Exception {
+        // Create product
+        Product product = new Product();
+        product.setName("name");
+        product = productRepository.save(product);
+
+        // Create users of the product
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            User user = new User();
+            user.setUsername("member_" + i);
+            user.setPassword("password");
+            UserProduct userProduct = new UserProduct();
+            userProduct.setProduct(product);
+            userProduct.setUser(user);
+            userProduct.setRole(Role.USER);
+            user.getUserProducts().add(userProduct);
+            users.add(user);
+        }
+        List<Long> userIds = userRepository.saveAll(users).stream().map(User::getId).toList();
+
+        // Act
+        SqlStatementRecorder.start();
+        sendRequest(
+            HttpMethod.DELETE,
+            "/api/product/" + product.getId(),
+            MediaType.APPLICATION_JSON,
+            null,
+            status().isOk()
+        );
+        List<String> statements = SqlStatementRecorder.stop();
+
+        // Assert
+        Assertions.assertEquals(2, statements.size(), statements.toString());
+        Long productId = product.getId();
+        Assertions.assertFalse(productRepository.existsById(productId));
+        Assertions.assertTrue(userProductRepository.findAll().stream().noneMatch(
+            userProduct -> userProduct.getProduct() != null && productId.equals(userProduct.getProduct().getId())
+        ));
+
+        // Delete users
+        userRepository.deleteAllById(userIds);
+    }
+
     @Test
     public void deleteShouldReturn404IfProductDoesNotExists() throws Exception {
         // Act & Assert
@@ -0,0 +1,156 @@
+package tech.ayot.ticket.backend.integration.ticket;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import tech.ayot.ticket.backend.dto.ticket.MessageDto;
+import tech.ayot.ticket.backend.dto.ticket.response.ListMessageResponse;
+import tech.ayot.ticket.backend.integration.BaseIntegrationTest;
+import tech.ayot.ticket.backend.model.enumuration.TicketStatus;
+import tech.ayot.ticket.backend.model.enumuration.TicketType;
+import tech.ayot.ticket.backend.model.product.Product;
+import tech.ayot.ticket.backend.model.ticket.Message;
+import tech.ayot.ticket.backend.model.ticket.Ticket;
+import tech.ayot.ticket.backend.repository.product.ProductRepository;
+import tech.ayot.ticket.backend.repository.ticket.MessageRepository;
+import tech.ayot.ticket.backend.repository.ticket.TicketRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class MessageServiceIntegrationTest extends BaseIntegrationTest {
+
+    private static final int MESSAGES_COUNT = 12;
+
+
+    private final ProductRepository productRepository;
+
+    private final TicketRepository ticketRepository;
+
+    private final MessageRepository messageRepository;
+
+    private Ticket ticket;
+
+    public MessageServiceIntegrationTest(
+        ProductRepository productRepository,
+        TicketRepository ticketRepository,
+        MessageRepository messageRepository
+    ) {
+        this.productRepository = productRepository;
+        this.ticketRepository = ticketRepository;
+        this.messageRepository = messageRepository;
+    }
+
+
+    @BeforeEach
+    public void setUp() {
+        // Create product
+        Product product = new Product();
+        product.setName("product");
+        product = productRepository.save(product);
+
+        // Create ticket
+        ticket = new Ticket();
+        ticket.setProduct(product);
+        ticket.setType(TicketType.QUESTION);
+        ticket.setTitle("ticket");
+        ticket.setStatus(TicketStatus.OPEN);
+        ticket = ticketRepository.save(ticket);
+
+        // Create messages
+        for (int i = 0; i < MESSAGES_COUNT; i++) {
+            Message message = new Message();
+            message.setTicket(ticket);
+            message.setContent("message-" + i);
+            messageRepository.save(message);
+        }
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        messageRepository.deleteAll();
+        ticketRepository.deleteAll();
+        productRepository.deleteAll();
+    }
+
+
+    @Test
+    public void listShouldPaginateMessagesById() throws Exception {
+        // Act
+        List<Long> messageIds = new ArrayList<>();
+        long afterId = 0;
+        ListMessageResponse response;
+        do {
+            response = sendRequest(
+                HttpMethod.GET,
+                "/api/message/" + ticket.getId() + "?pageSize=5&afterId=" + afterId,
+                MediaType.APPLICATION_JSON,
+                null,
+                status().isOk(),
+                ListMessageResponse.class
+            ).body();
+            messageIds.addAll(response.content().stream().map(MessageDto::id).toList());
+            afterId = response.nextAfterId();
+        } while (response.hasNext());
+
+        // Assert
+        List<Long> expectedIds = messageRepository.findByTicketId(ticket.getId()).stream()
+            .map(Message::getId)
+            .sorted()
+            .toList();
+        Assertions.assertEquals(expectedIds, messageIds);
+    }
+
+    @Test
+    public void listShouldReturnOnlyNewMessages() throws Exception {
+        // Get the latest message id
+        ListMessageResponse response = sendRequest(
+            HttpMethod.GET,
+            "/api/message/" + ticket.getId() + "?pageSize=" + MESSAGES_COUNT,
+            MediaType.APPLICATION_JSON,
+            null,
+            status().isOk(),
+            ListMessageResponse.class
+        ).body();
+        Assertions.assertFalse(response.hasNext());
+
+        // Create a new message
+        Message message = new Message();
+        message.setTicket(ticket);
+        message.setContent("new-message");
+        message = messageRepository.save(message);
+
+        // Act
+        ListMessageResponse newMessages = sendRequest(
+            HttpMethod.GET,
+            "/api/message/" + ticket.getId() + "?afterId=" + response.nextAfterId(),
+            MediaType.APPLICATION_JSON,
+            null,
+            status().isOk(),
+            ListMessageResponse.class
+        ).body();
+
+        // Assert
+        Assertions.assertEquals(1, newMessages.content().size());
+        Assertions.assertEquals(message.getId(), newMessages.content().get(0).id());
+        Assertions.assertEquals(ADMIN_USER, newMessages.content().get(0).username());
+        Assertions.assertEquals(message.getId(), newMessages.nextAfterId());
+    }
+
+    @Test
+    public void listShouldReturn404IfTicketDoesNotExist() throws Exception {
+        // Act & Assert
+        sendRequest(
+            HttpMethod.GET,
+            "/api/message/" + (ticket.getId() + 1000),
+            MediaType.APPLICATION_JSON,
+            null,
+            status().isNotFound()
+        );
+    }
+}
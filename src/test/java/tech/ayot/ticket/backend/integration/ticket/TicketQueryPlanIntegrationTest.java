@@ -0,0 +1,126 @@
+package tech.ayot.ticket.backend.integration.ticket;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import tech.ayot.ticket.backend.integration.BaseIntegrationTest;
+import tech.ayot.ticket.backend.integration.SqlStatementRecorder;
+import tech.ayot.ticket.backend.model.enumuration.TicketStatus;
+import tech.ayot.ticket.backend.model.enumuration.TicketType;
+import tech.ayot.ticket.backend.repository.ticket.TicketRepository;
+import tech.ayot.ticket.backend.repository.ticket.TicketSpecifications;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Checks that every filter combination of ticket listing can be answered using an index on tickets
+ */
+public class TicketQueryPlanIntegrationTest extends BaseIntegrationTest {
+
+    private final TicketRepository ticketRepository;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TicketQueryPlanIntegrationTest(
+        TicketRepository ticketRepository,
+        JdbcTemplate jdbcTemplate
+    ) {
+        this.ticketRepository = ticketRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+
+    public static Stream<Arguments> filterCombinations() {
+        List<Arguments> combinations = new ArrayList<>();
+        Date createdAfter = new Date(0);
+        Date createdBefore = new Date();
+        for (boolean byUser : new boolean[]{true, false}) {
+            for (int mask = 0; mask < 16; mask++) {
+                combinations.add(Arguments.of(
+                    byUser ? 1L : null,
+                    byUser ? null : 1L,
+                    (mask & 1) != 0 ? TicketType.BUG : null,
+                    (mask & 2) != 0 ? createdAfter : null,
+                    (mask & 4) != 0 ? createdBefore : null,
+                    (mask & 8) != 0 ? TicketStatus.OPEN : null
+                ));
+            }
+        }
+        return combinations.stream();
+    }
+
+
+    @ParameterizedTest
+    @MethodSource("filterCombinations")
+    public void listQueryShouldUseTicketsIndex(
+        Long userId,
+        Long productId,
+        TicketType type,
+        Date createdAfter,
+        Date createdBefore,
+        TicketStatus status
+    ) {
+        // Capture the SQL generated for the filters
+        SqlStatementRecorder.start();
+        ticketRepository.findAll(
+            TicketSpecifications.filter(userId, type, productId, createdAfter, createdBefore, status),
+            Sort.by(Sort.Direction.DESC, "creationDate")
+        );
+        List<String> statements = SqlStatementRecorder.stop();
+        Assertions.assertFalse(statements.isEmpty());
+        String sql = statements.get(0);
+
+        // Parameters are bound in the same order as the filters are composed
+        List<Object> parameters = new ArrayList<>();
+        if (userId != null) parameters.add(userId);
+        if (type != null) parameters.add(type.name());
+        if (productId != null) parameters.add(productId);
+        if (createdAfter != null) parameters.add(new Timestamp(createdAfter.getTime()));
+        if (createdBefore != null) parameters.add(new Timestamp(createdBefore.getTime()));
+        if (status != null) parameters.add(status.name());
+
+        // Act
+        String plan = explain(sql, parameters);
+
+        // Assert
+        Assertions.assertFalse(plan.contains("Seq Scan on tickets"), plan);
+        Assertions.assertTrue(plan.contains("idx_tickets_"), plan);
+    }
+
+
+    private String explain(String sql, List<Object> parameters) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                // Tables are almost empty, so make the planner show whether an index is usable at all
+                statement.execute("SET enable_seqscan = off");
+            }
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                for (int i = 0; i < parameters.size(); i++) {
+                    statement.setObject(i + 1, parameters.get(i));
+                }
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        plan.append(resultSet.getString(1)).append('\n');
+                    }
+                }
+                return plan.toString();
+            } finally {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("RESET enable_seqscan");
+                }
+            }
+        });
+    }
+}
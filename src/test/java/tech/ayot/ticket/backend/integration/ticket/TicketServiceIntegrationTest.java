@@ -0,0 +1,566 @@
+package tech.ayot.ticket.backend.integration.ticket;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import tech.ayot.ticket.backend.dto.ticket.MessageDto;
+import tech.ayot.ticket.backend.dto.ticket.TicketDto;
+import tech.ayot.ticket.backend.dto.ticket.request.CreateTicketRequest;
+import tech.ayot.ticket.backend.dto.ticket.response.ListTicketResponse;
+import tech.ayot.ticket.backend.dto.ticket.response.ListUserTicketsProductsResponse;
+import tech.ayot.ticket.backend.dto.ticket.response.SearchTicketResponse;
+import tech.ayot.ticket.backend.dto.ticket.response.ViewTicketResponse;
+import tech.ayot.ticket.backend.integration.BaseIntegrationTest;
+import tech.ayot.ticket.backend.integration.SqlStatementRecorder;
+import tech.ayot.ticket.backend.model.enumuration.TicketStatus;
+import tech.ayot.ticket.backend.model.enumuration.TicketType;
+import tech.ayot.ticket.backend.model.product.Product;
+import tech.ayot.ticket.backend.model.ticket.Message;
+import tech.ayot.ticket.backend.model.ticket.Ticket;
+import tech.ayot.ticket.backend.repository.product.ProductRepository;
+import tech.ayot.ticket.backend.repository.ticket.MessageRepository;
+import tech.ayot.ticket.backend.repository.ticket.TicketRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class TicketServiceIntegrationTest extends BaseIntegrationTest {
+
+    private static final int TICKETS_COUNT = 25;
+
+
+    private final ProductRepository productRepository;
+
+    private final TicketRepository ticketRepository;
+
+    private final MessageRepository messageRepository;
+
+    private Product product;
+
+    public TicketServiceIntegrationTest(
+        ProductRepository productRepository,
+        TicketRepository ticketRepository,
+        MessageRepository messageRepository
+    ) {
+        this.productRepository = productRepository;
+        this.ticketRepository = ticketRepository;
+        this.messageRepository = messageRepository;
+    }
+
+
+    @BeforeEach
+    public void setUp() {
+        // Create product
+        product = new Product();
+        product.setName("product");
+        product = productRepository.save(product);
+
+        // Create tickets
+        for (int i = 0; i < TICKETS_COUNT; i++) {
+            Ticket ticket = new Ticket();
+            ticket.setProduct(product);
+            ticket.setType(i % 2 == 0 ? TicketType.BUG : TicketType.QUESTION);
+            ticket.setTitle("ticket-" + i);
+            ticket.setDescription("description");
+            ticket.setStatus(TicketStatus.OPEN);
+            ticketRepository.save(ticket);
+        }
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        messageRepository.deleteAll();
+        ticketRepository.deleteAll();
+        productRepository.deleteAll();
+    }
+
+
+    @Test
+    public void listAdminWithCursorShouldReturnAllTicketsInOrder() throws Exception {
+        // Act
+        List<Long> ticketIds = new ArrayList<>();
+        String cursor = null;
+        do {
+            String url = "/api/product/" + product.getId() + "/ticket?mode=CURSOR&pageSize=10"
+                + (cursor == null ? "" : "&cursor=" + cursor);
+            ListTicketResponse response = sendRequest(
+                HttpMethod.GET,
+                url,
+                MediaType.APPLICATION_JSON,
+                null,
+                status().isOk(),
+                ListTicketResponse.class
+            ).body();
+            Assertions.assertNull(response.totalPages());
+            ticketIds.addAll(response.content().stream().map(TicketDto::ticketId).toList());
+            cursor = response.nextCursor();
+        } while (cursor != null);
+
+        // Assert
+        Assertions.assertEquals(TICKETS_COUNT, ticketIds.size());
+        Assertions.assertEquals(ticketIds.stream().sorted().toList(), ticketIds);
+    }
+
+    @Test
+    public void listAdminWithCursorShouldSeekByCreationDateDescending() throws Exception {
+        // Act
+        List<Long> ticketIds = new ArrayList<>();
+        String cursor = null;
+        do {
+            String url = "/api/product/" + product.getId() + "/ticket?mode=CURSOR&pageSize=7"
+                + "&order=creationDate&direction=DESC&type=BUG"
+                + (cursor == null ? "" : "&cursor=" + cursor);
+            ListTicketResponse response = sendRequest(
+                HttpMethod.GET,
+                url,
+                MediaType.APPLICATION_JSON,
+                null,
+                status().isOk(),
+                ListTicketResponse.class
+            ).body();
+            ticketIds.addAll(response.content().stream().map(TicketDto::ticketId).toList());
+            cursor = response.nextCursor();
+        } while (cursor != null);
+
+        // Assert
+        List<Long> expectedIds = ticketRepository.findAll().stream()
+            .filter(ticket -> ticket.getType() == TicketType.BUG)
+            .map(Ticket::getId)
+            .sorted((first, second) -> Long.compare(second, first))
+            .toList();
+        Assertions.assertEquals(expectedIds, ticketIds);
+    }
+
+    @Test
+    public void listShouldExecuteConstantNumberOfQueriesPerPage() throws Exception {
+        // Act
+        long smallPageQueries = countListQueries("/api/ticket?page=0&pageSize=5");
+        long largePageQueries = countListQueries("/api/ticket?page=0&pageSize=20");
+        long cursorPageQueries = countListQueries("/api/ticket?mode=CURSOR&pageSize=20");
+
+        // Assert
+        Assertions.assertEquals(2, smallPageQueries);
+        Assertions.assertEquals(smallPageQueries, largePageQueries);
+        Assertions.assertEquals(1, cursorPageQueries);
+    }
+
+    @Test
+    public void listWithSliceShouldReportNextPageWithoutCounting() throws Exception {
+        // Act
+        long firstPageQueries = countListQueries("/api/ticket?mode=SLICE&page=0&pageSize=20");
+        ListTicketResponse firstPage = sendRequest(
+            HttpMethod.GET,
+            "/api/ticket?mode=SLICE&page=0&pageSize=20",
+            MediaType.APPLICATION_JSON,
+            null,
+            status().isOk(),
+            ListTicketResponse.class
+        ).body();
+        ListTicketResponse lastPage = sendRequest(
+            HttpMethod.GET,
+            "/api/ticket?mode=SLICE&page=1&pageSize=20",
+            MediaType.APPLICATION_JSON,
+            null,
+            status().isOk(),
+            ListTicketResponse.class
+        ).body();
+
+        // Assert
+        Assertions.assertEquals(1, firstPageQueries);
+        Assertions.assertNull(firstPage.totalPages());
+        Assertions.assertEquals(20, firstPage.pageSize());
+        Assertions.assertTrue(firstPage.hasNext());
+        Assertions.assertEquals(TICKETS_COUNT - 20, lastPage.pageSize());
+        Assertions.assertFalse(lastPage.hasNext());
+    }
+
+    @Test
+    public void listWithApproximateShouldReuseCachedCount() throws Exception {
+        // Act
+        ListTicketResponse firstResponse = sendRequest(
+            HttpMethod.GET,
+            "/api/ticket?mode=APPROXIMATE&page=0&pageSize=10&status=OPEN",
+            MediaType.APPLICATION_JSON,
+            null,
+            status().isOk(),
+            ListTicketResponse.class
+        ).body();
+
+        // Add tickets which are not counted until the cached count expires
+        for (int i = 0; i < 10; i++) {
+            Ticket ticket = new Ticket();
+            ticket.setProduct(product);
+            ticket.setType(TicketType.BUG);
+            ticket.setTitle("new-ticket-" + i);
+            ticket.setStatus(TicketStatus.OPEN);
+            ticketRepository.save(ticket);
+        }
+        long secondResponseQueries = countListQueries("/api/ticket?mode=APPROXIMATE&page=0&pageSize=10&status=OPEN");
+        ListTicketResponse secondResponse = sendRequest(
+            HttpMethod.GET,
+            "/api/ticket?mode=APPROXIMATE&page=0&pageSize=10&status=OPEN",
+            MediaType.APPLICATION_JSON,
+            null,
+            status().isOk(),
+            ListTicketResponse.class
+        ).body();
+
+        // Assert
+        Assertions.assertTrue(firstResponse.approximate());
+        Assertions.assertEquals(3, firstResponse.totalPages());
+        Assertions.assertEquals(1, secondResponseQueries);
+        Assertions.assertEquals(3, secondResponse.totalPages());
+    }
+
+    @Test
+    public void listShouldFilterByProductNameOrId() throws Exception {
+        // Create another product with a ticket
+        Product otherProduct = new Product();
+        otherProduct.setName("other-product");
+        otherProduct = productRepository.save(otherProduct);
+        Ticket ticket = new Ticket();
+        ticket.setProduct(otherProduct);
+        ticket.setType(TicketType.BUG);
+        ticket.setTitle("other-ticket");
+        ticket.setStatus(TicketStatus.OPEN);
+        ticketRepository.save(ticket);
+
+        // Act
+        ListTicketResponse byName = sendRequest(
+            HttpMethod.GET,
+            "/api/ticket?page=0&pageSize=50&productName=" + otherProduct.getName(),
+            MediaType.APPLICATION_JSON,
+            null,
+            status().isOk(),
+            ListTicketResponse.class
+        ).body();
+        ListTicketResponse byId = sendRequest(
+            HttpMethod.GET,
+            "/api/ticket?page=0&pageSize=50&productId=" + product.getId(),
+            MediaType.APPLICATION_JSON,
+            null,
+            status().isOk(),
+            ListTicketResponse.class
+        ).body();
+
+        // Assert
+        Assertions.assertEquals(List.of(ticket.getId()), byName.content().stream().map(TicketDto::ticketId).toList());
+        Assertions.assertEquals(TICKETS_COUNT, byId.content().size());
+        Assertions.assertTrue(byId.content().stream().allMatch(dto -> product.getId().equals(dto.productId())));
+    }
+
+    @Test
+    public void listShouldReturn404IfProductNameDoesNotExist() throws Exception {
+        // Act & Assert
+        sendRequest(
+            HttpMethod.GET,
+            "/api/ticket?page=0&productName=unknown",
+            MediaType.APPLICATION_JSON,
+            null,
+            status().isNotFound()
+        );
+    }
+
+    @Test
+    public void viewShouldReturnTicketWithMessagesInOneQuery() throws Exception {
+        // Create messages
+        Ticket ticket = ticketRepository.findAll().get(0);
+        for (int i = 0; i < 3; i++) {
+            Message message = new Message();
+            message.setTicket(ticket);
+            message.setContent("message-" + i);
+            messageRepository.save(message);
+        }
+        List<Message> messages = messageRepository.findByTicketId(ticket.getId());
+
+        // Act
+        SqlStatementRecorder.start();
+        ViewTicketResponse response = sendRequest(
+            HttpMethod.GET,
+            "/api/product/" + product.getId() + "/ticket/" + ticket.getId(),
+            MediaType.APPLICATION_JSON,
+            null,
+            status().isOk(),
+            ViewTicketResponse.class
+        ).body();
+        List<String> statements = SqlStatementRecorder.stop();
+
+        // Assert
+        Assertions.assertEquals(1, statements.size());
+        Assertions.assertEquals(ticket.getId(), response.ticketId());
+        Assertions.assertEquals(ADMIN_USER, response.username());
+        Assertions.assertEquals(product.getId(), response.productId());
+        Assertions.assertEquals(ticket.getCreationDate().getTime(), response.created().getTime());
+        Assertions.assertEquals(ticket.getType(), response.type());
+        Assertions.assertEquals(ticket.getTitle(), response.title());
+        Assertions.assertEquals(ticket.getDescription(), response.description());
+        Assertions.assertNull(response.deadline());
+        Assertions.assertEquals(ticket.getStatus(), response.status());
+        Assertions.assertEquals(messages.size(), response.messages().size());
+        for (int i = 0; i < messages.size(); i++) {
+            Message message = messages.get(i);
+            MessageDto messageDto = response.messages().get(i);
+            Assertions.assertEquals(message.getId(), messageDto.id());
+            Assertions.assertEquals(message.getCreatedBy().getId(), messageDto.userId());
+            Assertions.assertEquals(ADMIN_USER, messageDto.username());
+            Assertions.assertEquals(message.getContent(), messageDto.content());
+            Assertions.assertEquals(message.getCreationDate().getTime(), messageDto.date().getTime());
+        }
+    }
+
+    @Test
+    public void createShouldNotLoadUsers() throws Exception {
+        // Act
+        SqlStatementRecorder.start();
+        Long ticketId = sendRequest(
+            HttpMethod.POST,
+            "/api/product/" + product.getId() + "/ticket",
+            MediaType.APPLICATION_JSON,
+            new CreateTicketRequest(TicketType.QUESTION, "title", "description", null),
+            status().isOk(),
+            Long.class
+        ).body();
+        List<String> statements = SqlStatementRecorder.stop();
+
+        // Assert
+        Assertions.assertTrue(
+            statements.stream().noneMatch(statement -> statement.contains(" from users ")),
+            statements.toString()
+        );
+        Ticket ticket = ticketRepository.findTicketById(ticketId);
+        Assertions.assertEquals(ADMIN_USER, ticket.getCreatedBy().getUsername());
+        Assertions.assertEquals(product.getId(), ticket.getProduct().getId());
+    }
+
+    @Test
+    public void viewShouldReturn404IfTicketIsNotInProduct() throws Exception {
+        // Create another product
+        Product otherProduct = new Product();
+        otherProduct.setName("other-product");
+        otherProduct = productRepository.save(otherProduct);
+        Ticket ticket = ticketRepository.findAll().get(0);
+
+        // Act & Assert
+        sendRequest(
+            HttpMethod.GET,
+            "/api/product/" + otherProduct.getId() + "/ticket/" + ticket.getId(),
+            MediaType.APPLICATION_JSON,
+            null,
+            status().isNotFound()
+        );
+    }
+
+    @Test
+    public void listAdminWithCursorShouldClampPageSize() throws Exception {
+        // Act
+        ListTicketResponse response = sendRequest(
+            HttpMethod.GET,
+            "/api/product/" + product.getId() + "/ticket?mode=CURSOR&pageSize=0",
+            MediaType.APPLICATION_JSON,
+            null,
+            status().isOk(),
+            ListTicketResponse.class
+        ).body();
+
+        // Assert
+        Assertions.assertEquals(1, response.content().size());
+        Assertions.assertNotNull(response.nextCursor());
+    }
+
+    @Test
+    public void listAdminWithInvalidCursorShouldReturn400() throws Exception {
+        // Act & Assert
+        sendRequest(
+            HttpMethod.GET,
+            "/api/product/" + product.getId() + "/ticket?mode=CURSOR&cursor=invalid",
+            MediaType.APPLICATION_JSON,
+            null,
+            status().isBadRequest()
+        );
+    }
+
+    @Test
+    public void listAdminWithCursorShouldReturn400IfOrderIsNotSupported() throws Exception {
+        // Act & Assert
+        sendRequest(
+            HttpMethod.GET,
+            "/api/product/" + product.getId() + "/ticket?mode=CURSOR&order=title",
+            MediaType.APPLICATION_JSON,
+            null,
+            status().isBadRequest()
+        );
+    }
+
+    @Test
+    public void listAdminWithOffsetShouldReturn400IfPageIsMissing() throws Exception {
+        // Act & Assert
+        sendRequest(
+            HttpMethod.GET,
+            "/api/product/" + product.getId() + "/ticket",
+            MediaType.APPLICATION_JSON,
+            null,
+            status().isBadRequest()
+        );
+    }
+
+
+    @Test
+    public void listUserTicketsProductsShouldReturnDistinctProductNames() throws Exception {
+        // Create another product
+        Product otherProduct = new Product();
+        otherProduct.setName("other-product");
+        otherProduct = productRepository.save(otherProduct);
+
+        // Create a ticket for each product, which also invalidates cached product names
+        createTicket(product);
+        createTicket(otherProduct);
+
+        // Act
+        ListUserTicketsProductsResponse response = sendRequest(
+            HttpMethod.GET,
+            "/api/tickets/products",
+            MediaType.APPLICATION_JSON,
+            null,
+            status().isOk(),
+            ListUserTicketsProductsResponse.class
+        ).body();
+
+        // Assert
+        Assertions.assertEquals(List.of("other-product", "product"), response.content());
+    }
+
+    @Test
+    public void listUserTicketsProductsShouldIncludeProductOfNewTicket() throws Exception {
+        // Cache product names
+        createTicket(product);
+        sendRequest(
+            HttpMethod.GET,
+            "/api/tickets/products",
+            MediaType.APPLICATION_JSON,
+            null,
+            status().isOk(),
+            ListUserTicketsProductsResponse.class
+        );
+
+        // Create a ticket for another product
+        Product otherProduct = new Product();
+        otherProduct.setName("other-product");
+        otherProduct = productRepository.save(otherProduct);
+        createTicket(otherProduct);
+
+        // Act
+        ListUserTicketsProductsResponse response = sendRequest(
+            HttpMethod.GET,
+            "/api/tickets/products",
+            MediaType.APPLICATION_JSON,
+            null,
+            status().isOk(),
+            ListUserTicketsProductsResponse.class
+        ).body();
+
+        // Assert
+        Assertions.assertEquals(List.of("other-product", "product"), response.content());
+    }
+
+    @Test
+    public void searchShouldFindTicketsByTextAndMessages() throws Exception {
+        // Create a message mentioning the word in a ticket
+        Ticket messageTicket = ticketRepository.findAll().get(0);
+        Message message = new Message();
+        message.setTicket(messageTicket);
+        message.setContent("All printers are jammed");
+        messageRepository.save(message);
+
+        // Create another ticket mentioning the word in its title
+        Ticket titleTicket = new Ticket();
+        titleTicket.setProduct(product);
+        titleTicket.setType(TicketType.BUG);
+        titleTicket.setTitle("Printer is on fire");
+        titleTicket.setDescription("description");
+        titleTicket.setStatus(TicketStatus.CLOSED);
+        titleTicket = ticketRepository.save(titleTicket);
+
+        // Act
+        SearchTicketResponse response = sendRequest(
+            HttpMethod.GET,
+            "/api/ticket/search?query=printer&productId=" + product.getId(),
+            MediaType.APPLICATION_JSON,
+            null,
+            status().isOk(),
+            SearchTicketResponse.class
+        ).body();
+        SearchTicketResponse closedResponse = sendRequest(
+            HttpMethod.GET,
+            "/api/ticket/search?query=printer&status=CLOSED",
+            MediaType.APPLICATION_JSON,
+            null,
+            status().isOk(),
+            SearchTicketResponse.class
+        ).body();
+
+        // Assert
+        Assertions.assertEquals(
+            List.of(messageTicket.getId(), titleTicket.getId()),
+            response.content().stream().map(TicketDto::ticketId).sorted().toList()
+        );
+        Assertions.assertEquals(
+            List.of(titleTicket.getId()),
+            closedResponse.content().stream().map(TicketDto::ticketId).toList()
+        );
+        Assertions.assertEquals(product.getName(), closedResponse.content().get(0).productName());
+    }
+
+    @Test
+    public void searchShouldReturn400IfQueryIsBlank() throws Exception {
+        // Act & Assert
+        sendRequest(
+            HttpMethod.GET,
+            "/api/ticket/search?query= ",
+            MediaType.APPLICATION_JSON,
+            null,
+            status().isBadRequest()
+        );
+    }
+
+    private long countListQueries(String url) throws Exception {
+        SqlStatementRecorder.start();
+        ListTicketResponse response = sendRequest(
+            HttpMethod.GET,
+            url,
+            MediaType.APPLICATION_JSON,
+            null,
+            status().isOk(),
+            ListTicketResponse.class
+        ).body();
+        List<String> statements = SqlStatementRecorder.stop();
+
+        // Every ticket should be fully populated without loading entities
+        response.content().forEach(ticket -> {
+            Assertions.assertEquals(ADMIN_USER, ticket.username());
+            Assertions.assertEquals(product.getName(), ticket.productName());
+        });
+        return statements.size();
+    }
+
+    private void createTicket(Product product) throws Exception {
+        CreateTicketRequest request = new CreateTicketRequest(
+            TicketType.QUESTION,
+            "title",
+            "description",
+            null
+        );
+        sendRequest(
+            HttpMethod.POST,
+            "/api/product/" + product.getId() + "/ticket",
+            MediaType.APPLICATION_JSON,
+            request,
+            status().isOk(),
+            Long.class
+        );
+    }
+}
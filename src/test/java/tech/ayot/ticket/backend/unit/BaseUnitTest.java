@@ -13,7 +13,8 @@ import org.testcontainers.utility.DockerImageName;
 @AutoConfigureMockMvc
 @ExtendWith(MockitoExtension.class)
 @TestConstructor(autowireMode = TestConstructor.AutowireMode.ALL)
-@TestPropertySource(locations = {"classpath:test.properties"})
+// Repositories are mocked, so existence filters would be loaded empty
+@TestPropertySource(locations = {"classpath:test.properties"}, properties = {"existence-filter.enabled=false"})
 public class BaseUnitTest {
 
     public static PostgreSQLContainer<?> POSTGRES_CONTAINER = new PostgreSQLContainer<>(
@@ -2,11 +2,11 @@ package tech.ayot.ticket.backend.unit.auth;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import jakarta.servlet.http.HttpSession;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.*;
@@ -66,7 +66,6 @@ public class AuthenticationServiceUnitTest extends BaseUnitTest {
 
         // Create method arguments
         HttpServletRequest request = mock(HttpServletRequest.class);
-        HttpSession session = mock(HttpSession.class);
         LoginRequest loginRequest = new LoginRequest(
             user.getUsername(),
             user.getPassword()
@@ -74,7 +73,6 @@ public class AuthenticationServiceUnitTest extends BaseUnitTest {
 
         ResponseEntity<LoginResponse> responseEntity = authenticationService.login(
             request,
-            session,
             loginRequest
         );
 
@@ -95,7 +93,6 @@ public class AuthenticationServiceUnitTest extends BaseUnitTest {
 
         // Create method arguments
         HttpServletRequest request = mock(HttpServletRequest.class);
-        HttpSession session = mock(HttpSession.class);
         LoginRequest loginRequest = new LoginRequest(
             null,
             null
@@ -106,7 +103,6 @@ public class AuthenticationServiceUnitTest extends BaseUnitTest {
             ResponseStatusException.class,
             () -> authenticationService.login(
                 request,
-                session,
                 loginRequest
             )
         );
@@ -121,7 +117,6 @@ public class AuthenticationServiceUnitTest extends BaseUnitTest {
 
         // Create method arguments
         HttpServletRequest request = mock(HttpServletRequest.class);
-        HttpSession session = mock(HttpSession.class);
         LoginRequest loginRequest = new LoginRequest(
             null,
             null
@@ -132,7 +127,6 @@ public class AuthenticationServiceUnitTest extends BaseUnitTest {
             ResponseStatusException.class,
             () -> authenticationService.login(
                 request,
-                session,
                 loginRequest
             )
         );
@@ -147,7 +141,6 @@ public class AuthenticationServiceUnitTest extends BaseUnitTest {
 
         // Create method arguments
         HttpServletRequest request = mock(HttpServletRequest.class);
-        HttpSession session = mock(HttpSession.class);
         LoginRequest loginRequest = new LoginRequest(
             null,
             null
@@ -158,7 +151,6 @@ public class AuthenticationServiceUnitTest extends BaseUnitTest {
             ResponseStatusException.class,
             () -> authenticationService.login(
                 request,
-                session,
                 loginRequest
             )
         );
@@ -173,7 +165,6 @@ public class AuthenticationServiceUnitTest extends BaseUnitTest {
 
         // Create method arguments
         HttpServletRequest request = mock(HttpServletRequest.class);
-        HttpSession session = mock(HttpSession.class);
         LoginRequest loginRequest = new LoginRequest(
             null,
             null
@@ -184,7 +175,6 @@ public class AuthenticationServiceUnitTest extends BaseUnitTest {
             ResponseStatusException.class,
             () -> authenticationService.login(
                 request,
-                session,
                 loginRequest
             )
         );
@@ -192,6 +182,42 @@ public class AuthenticationServiceUnitTest extends BaseUnitTest {
         Assertions.assertEquals("Invalid username or password", responseStatusException.getReason());
     }
 
+    @Test
+    public void loginShouldReturn429IfLoginFailedTooOften() {
+        // Mock Authentication Manager
+        when(authenticationManager.authenticate(any())).thenThrow(BadCredentialsException.class);
+
+        // Create method arguments
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        LoginRequest loginRequest = new LoginRequest(
+            "throttled-username",
+            "password"
+        );
+
+        // Fail logins
+        for (int i = 0; i < 10; i++) {
+            Assertions.assertThrows(
+                ResponseStatusException.class,
+                () -> authenticationService.login(
+                    request,
+                    loginRequest
+                )
+            );
+        }
+        reset(authenticationManager);
+
+        // Act & Assert
+        ResponseStatusException responseStatusException = Assertions.assertThrows(
+            ResponseStatusException.class,
+            () -> authenticationService.login(
+                request,
+                loginRequest
+            )
+        );
+        Assertions.assertEquals(HttpStatus.TOO_MANY_REQUESTS, responseStatusException.getStatusCode());
+        verify(authenticationManager, never()).authenticate(any());
+    }
+
     @Test
     public void logoutShouldReturn200() {
         // Create method arguments
@@ -213,7 +239,7 @@ public class AuthenticationServiceUnitTest extends BaseUnitTest {
         user.setPassword("password");
 
         // Mock user repository
-        when(userRepository.findUserByUsername(user.getUsername())).thenReturn(null);
+        when(userRepository.existsUserByUsername(user.getUsername())).thenReturn(false);
 
         // Create method arguments
         RegisterRequest registerRequest = new RegisterRequest(
@@ -236,7 +262,7 @@ public class AuthenticationServiceUnitTest extends BaseUnitTest {
         user.setPassword("password");
 
         // Mock user repository
-        when(userRepository.findUserByUsername(user.getUsername())).thenReturn(user);
+        when(userRepository.existsUserByUsername(user.getUsername())).thenReturn(true);
 
         // Create method arguments
         RegisterRequest registerRequest = new RegisterRequest(
@@ -252,6 +278,26 @@ public class AuthenticationServiceUnitTest extends BaseUnitTest {
         Assertions.assertEquals("Username already exists", responseStatusException.getReason());
     }
 
+    @Test
+    public void registerShouldReturn409IfUsernameIsTakenWhileSaving() {
+        // Mock user repository
+        when(userRepository.existsUserByUsername("username")).thenReturn(false);
+        when(userRepository.save(any(User.class))).thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        // Create method arguments
+        RegisterRequest registerRequest = new RegisterRequest(
+            "username",
+            "password"
+        );
+
+        ResponseStatusException responseStatusException = Assertions.assertThrows(
+            ResponseStatusException.class,
+            () -> authenticationService.register(registerRequest)
+        );
+        Assertions.assertEquals(HttpStatus.CONFLICT, responseStatusException.getStatusCode());
+        Assertions.assertEquals("Username already exists", responseStatusException.getReason());
+    }
+
     @Test
     public void currentUserShouldReturnCurrentUser() {
         // Create user
@@ -272,7 +318,7 @@ public class AuthenticationServiceUnitTest extends BaseUnitTest {
         SecurityContextHolder.setContext(context);
 
         // Mock user repository
-        when(userRepository.getReferenceById(user.getId())).thenReturn(user);
+        when(userRepository.findWithUserProductsById(user.getId())).thenReturn(user);
 
         ResponseEntity<LoginResponse> responseEntity = authenticationService.currentUser();
 
@@ -285,6 +331,38 @@ public class AuthenticationServiceUnitTest extends BaseUnitTest {
         Assertions.assertEquals(user.getUsername(), loginResponse.username());
     }
 
+    @Test
+    public void currentUserShouldNotUpdateSessionIfSecurityVersionIsUnchanged() {
+        // Create user
+        User user = new User();
+        user.setId(2L);
+        user.setUsername("username");
+        user.setPassword("password");
+        user.setLastModifiedDate(new Date());
+
+        // Mock authentication
+        UserDto userDto = new UserDto(user);
+        Authentication authentication = mock(Authentication.class);
+        when(authentication.getPrincipal()).thenReturn(userDto);
+
+        // Mock context holder
+        SecurityContext context = mock(SecurityContext.class);
+        when(context.getAuthentication()).thenReturn(authentication);
+        SecurityContextHolder.setContext(context);
+
+        // Mock user repository
+        when(userRepository.findWithUserProductsById(user.getId())).thenReturn(user);
+
+        // Act
+        authenticationService.currentUser();
+        ResponseEntity<LoginResponse> responseEntity = authenticationService.currentUser();
+
+        // Assert
+        verify(userRepository, times(1)).findWithUserProductsById(user.getId());
+        verify(sessionService, never()).updateCurrentSession(any(UserDto.class));
+        Assertions.assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+    }
+
     @Test
     public void currentUserShouldReturnNullIfUserIsNotLoggedIn() {
         // Mock authentication
@@ -0,0 +1,117 @@
+package tech.ayot.ticket.backend.unit.auth;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.server.ResponseStatusException;
+import tech.ayot.ticket.backend.service.auth.BoundedPasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BoundedPasswordEncoderUnitTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private final CountDownLatch started = new CountDownLatch(1);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private BoundedPasswordEncoder passwordEncoder;
+
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        if (passwordEncoder != null) {
+            passwordEncoder.destroy();
+        }
+    }
+
+
+    @Test
+    public void encodeShouldReturnEncodedPassword() {
+        // Create encoder
+        PasswordEncoder delegate = mock(PasswordEncoder.class);
+        when(delegate.encode("password")).thenReturn("encoded");
+        passwordEncoder = new BoundedPasswordEncoder(delegate, 1, 1, Duration.ofSeconds(5), meterRegistry);
+
+        // Act
+        String encodedPassword = passwordEncoder.encode("password");
+
+        // Assert
+        Assertions.assertEquals("encoded", encodedPassword);
+        Assertions.assertEquals(1, meterRegistry.get("password.hashing.duration").timer().count());
+    }
+
+    @Test
+    public void encodeShouldReturn503IfExecutorIsSaturated() throws InterruptedException {
+        // Create encoder with one thread and one queued hash, and saturate it
+        passwordEncoder = new BoundedPasswordEncoder(
+            createBlockingEncoder(),
+            1,
+            1,
+            Duration.ofSeconds(5),
+            meterRegistry
+        );
+        CompletableFuture.runAsync(() -> passwordEncoder.encode("running"));
+        Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture.runAsync(() -> passwordEncoder.encode("queued"));
+        waitForQueuedHash();
+
+        // Act & Assert
+        ResponseStatusException responseStatusException = Assertions.assertThrows(
+            ResponseStatusException.class,
+            () -> passwordEncoder.encode("rejected")
+        );
+        Assertions.assertEquals(HttpStatus.SERVICE_UNAVAILABLE, responseStatusException.getStatusCode());
+        Assertions.assertEquals(1, meterRegistry.get("password.hashing.rejected").counter().count());
+    }
+
+    @Test
+    public void matchesShouldReturn503IfHashWaitsTooLong() throws InterruptedException {
+        // Create encoder and keep its only thread busy
+        passwordEncoder = new BoundedPasswordEncoder(
+            createBlockingEncoder(),
+            1,
+            1,
+            Duration.ofMillis(100),
+            meterRegistry
+        );
+        CompletableFuture.runAsync(() -> passwordEncoder.encode("running"));
+        Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // Act & Assert
+        ResponseStatusException responseStatusException = Assertions.assertThrows(
+            ResponseStatusException.class,
+            () -> passwordEncoder.matches("password", "encoded")
+        );
+        Assertions.assertEquals(HttpStatus.SERVICE_UNAVAILABLE, responseStatusException.getStatusCode());
+    }
+
+
+    private PasswordEncoder createBlockingEncoder() {
+        PasswordEncoder delegate = mock(PasswordEncoder.class);
+        when(delegate.encode(any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return "encoded";
+        });
+        return delegate;
+    }
+
+    private void waitForQueuedHash() throws InterruptedException {
+        for (int i = 0; i < 500 && meterRegistry.get("password.hashing.queue").gauge().value() < 1; i++) {
+            Thread.sleep(10);
+        }
+    }
+}
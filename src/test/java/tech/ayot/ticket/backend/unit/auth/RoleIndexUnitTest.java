@@ -0,0 +1,58 @@
+package tech.ayot.ticket.backend.unit.auth;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import tech.ayot.ticket.backend.dto.auth.GrantedRoleDto;
+import tech.ayot.ticket.backend.dto.auth.RoleIndex;
+import tech.ayot.ticket.backend.model.enumuration.Role;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class RoleIndexUnitTest {
+
+    @Test
+    public void getLevelShouldReturnHighestLevelOfProduct() {
+        // Create roles of many products
+        List<GrantedRoleDto> roles = new ArrayList<>();
+        for (long productId = 1; productId <= 500; productId++) {
+            roles.add(new GrantedRoleDto(productId * 1024, productId % 2 == 0 ? Role.ADMIN : Role.STAFF));
+        }
+        roles.add(new GrantedRoleDto(1024L, Role.SUPER_ADMIN));
+
+        // Act
+        RoleIndex roleIndex = new RoleIndex(roles);
+
+        // Assert
+        Assertions.assertEquals(Role.SUPER_ADMIN.getLevel(), roleIndex.getLevel(1024));
+        Assertions.assertEquals(Role.ADMIN.getLevel(), roleIndex.getLevel(2 * 1024));
+        Assertions.assertEquals(Role.STAFF.getLevel(), roleIndex.getLevel(499 * 1024));
+        Assertions.assertEquals(RoleIndex.NO_LEVEL, roleIndex.getLevel(1));
+        Assertions.assertEquals(RoleIndex.NO_LEVEL, roleIndex.getRootLevel());
+    }
+
+    @Test
+    public void getLevelShouldIncludeRootLevel() {
+        // Act
+        RoleIndex roleIndex = new RoleIndex(List.of(
+            new GrantedRoleDto(null, Role.USER),
+            new GrantedRoleDto(null, Role.STAFF),
+            new GrantedRoleDto(1L, Role.ADMIN)
+        ));
+
+        // Assert
+        Assertions.assertEquals(Role.STAFF.getLevel(), roleIndex.getRootLevel());
+        Assertions.assertEquals(Role.ADMIN.getLevel(), roleIndex.getLevel(1));
+        Assertions.assertEquals(Role.STAFF.getLevel(), roleIndex.getLevel(2));
+    }
+
+    @Test
+    public void getLevelShouldReturnNoLevelIfUserHasNoRoles() {
+        // Act
+        RoleIndex roleIndex = new RoleIndex(List.of());
+
+        // Assert
+        Assertions.assertEquals(RoleIndex.NO_LEVEL, roleIndex.getRootLevel());
+        Assertions.assertEquals(RoleIndex.NO_LEVEL, roleIndex.getLevel(1));
+    }
+}
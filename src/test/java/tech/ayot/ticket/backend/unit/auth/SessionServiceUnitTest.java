@@ -18,6 +18,7 @@ import org.springframework.web.context.request.ServletRequestAttributes;
 import tech.ayot.ticket.backend.BackendApplication;
 import tech.ayot.ticket.backend.dto.auth.UserDto;
 import tech.ayot.ticket.backend.model.user.User;
+import tech.ayot.ticket.backend.repository.session.SessionAttributeRepository;
 import tech.ayot.ticket.backend.repository.user.UserRepository;
 import tech.ayot.ticket.backend.service.auth.SessionService;
 import tech.ayot.ticket.backend.unit.BaseUnitTest;
@@ -32,6 +33,9 @@ public class SessionServiceUnitTest extends BaseUnitTest {
     @MockBean
     private final UserRepository userRepository;
 
+    @MockBean
+    private final SessionAttributeRepository sessionAttributeRepository;
+
     @Mock
     private final FindByIndexNameSessionRepository<? extends Session> sessionRepository;
 
@@ -40,10 +44,12 @@ public class SessionServiceUnitTest extends BaseUnitTest {
 
     public SessionServiceUnitTest(
         UserRepository userRepository,
+        SessionAttributeRepository sessionAttributeRepository,
         FindByIndexNameSessionRepository<? extends Session> sessionRepository,
         SessionService<? extends Session> sessionService
     ) {
         this.userRepository = userRepository;
+        this.sessionAttributeRepository = sessionAttributeRepository;
         this.sessionRepository = sessionRepository;
         this.sessionService = sessionService;
     }
@@ -92,8 +98,33 @@ public class SessionServiceUnitTest extends BaseUnitTest {
         sessionService.updateCurrentSession(userDto);
 
         // Assert
-        verify(context, times(1)).setAuthentication(any(Authentication.class));
-        verify(session, times(1)).setAttribute(SPRING_SECURITY_CONTEXT_TOKEN, context);
+        verify(context, never()).setAuthentication(any(Authentication.class));
+        verify(session, times(1)).setAttribute(
+            eq(SPRING_SECURITY_CONTEXT_TOKEN),
+            argThat(attribute -> attribute instanceof SecurityContext securityContext
+                && securityContext != context
+                && securityContext.getAuthentication().getPrincipal() == userDto)
+        );
+    }
+
+    @Test
+    public void updateAllSessionsShouldUpdateSecurityContextOfAllSessions() {
+        // Create user DTO
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("username");
+        user.setPassword("password");
+        UserDto userDto = new UserDto(user);
+
+        // Act
+        sessionService.updateAllSessions(userDto);
+
+        // Assert
+        verify(sessionAttributeRepository, times(1)).updateAttributeByPrincipalName(
+            eq(userDto.getUsername()),
+            eq(SPRING_SECURITY_CONTEXT_TOKEN),
+            argThat(securityContext -> ((SecurityContext) securityContext).getAuthentication().getPrincipal() == userDto)
+        );
     }
 
     @Test
@@ -0,0 +1,103 @@
+package tech.ayot.ticket.backend.unit.auth;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import tech.ayot.ticket.backend.cache.SecurityVersionCache;
+import tech.ayot.ticket.backend.dto.auth.GrantedRoleDto;
+import tech.ayot.ticket.backend.dto.auth.UserDto;
+import tech.ayot.ticket.backend.interceptor.TokenAuthenticationFilter;
+import tech.ayot.ticket.backend.model.enumuration.Role;
+import tech.ayot.ticket.backend.service.auth.TokenService;
+
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TokenAuthenticationFilterUnitTest {
+
+    private static final String SECRET = Base64.getEncoder().encodeToString(new byte[32]);
+
+
+    private final TokenService tokenService = new TokenService(SECRET, Duration.ofMinutes(5), 100);
+
+    private SecurityVersionCache securityVersionCache;
+
+    private TokenAuthenticationFilter tokenAuthenticationFilter;
+
+
+    @BeforeEach
+    public void setUp() {
+        securityVersionCache = mock(SecurityVersionCache.class);
+        tokenAuthenticationFilter = new TokenAuthenticationFilter(tokenService, securityVersionCache);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+
+    @Test
+    public void doFilterShouldAuthenticateTokenUser() throws Exception {
+        // Create request with an up-to-date token
+        MockHttpServletRequest request = createRequest(createUserDto(Role.ADMIN));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        when(securityVersionCache.getUpdatedUser(any(UserDto.class))).thenReturn(null);
+
+        // Act
+        tokenAuthenticationFilter.doFilter(request, response, new MockFilterChain());
+
+        // Assert
+        UserDto principal = (UserDto) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        Assertions.assertEquals(Role.ADMIN, principal.getRoles().get(0).getRole());
+        Assertions.assertNull(response.getHeader(HttpHeaders.AUTHORIZATION));
+    }
+
+    @Test
+    public void doFilterShouldAuthenticateCurrentUserAndRenewTokenIfSecurityVersionHasChanged() throws Exception {
+        // Create request with a token whose role has been revoked
+        MockHttpServletRequest request = createRequest(createUserDto(Role.ADMIN));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        UserDto updatedUserDto = createUserDto(Role.USER);
+        when(securityVersionCache.getUpdatedUser(any(UserDto.class))).thenReturn(updatedUserDto);
+
+        // Act
+        tokenAuthenticationFilter.doFilter(request, response, new MockFilterChain());
+
+        // Assert
+        Assertions.assertSame(updatedUserDto, SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+        String authorization = response.getHeader(HttpHeaders.AUTHORIZATION);
+        Assertions.assertNotNull(authorization);
+        UserDto tokenUser = tokenService.getUser(authorization.substring(TokenAuthenticationFilter.BEARER_PREFIX.length()));
+        Assertions.assertEquals(Role.USER, tokenUser.getRoles().get(0).getRole());
+    }
+
+
+    private MockHttpServletRequest createRequest(UserDto userDto) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/ticket");
+        request.addHeader(HttpHeaders.AUTHORIZATION, TokenAuthenticationFilter.BEARER_PREFIX + tokenService.createToken(userDto));
+        return request;
+    }
+
+    private static UserDto createUserDto(Role role) {
+        return new UserDto(
+            1L,
+            "username",
+            null,
+            new Date(),
+            List.of(new GrantedRoleDto(2L, role))
+        );
+    }
+}
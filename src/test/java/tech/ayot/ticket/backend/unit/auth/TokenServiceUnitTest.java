@@ -0,0 +1,125 @@
+package tech.ayot.ticket.backend.unit.auth;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import tech.ayot.ticket.backend.dto.auth.GrantedRoleDto;
+import tech.ayot.ticket.backend.dto.auth.UserDto;
+import tech.ayot.ticket.backend.model.enumuration.Role;
+import tech.ayot.ticket.backend.service.auth.TokenService;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+
+public class TokenServiceUnitTest {
+
+    private static final String SECRET = Base64.getEncoder().encodeToString(new byte[32]);
+
+
+    private final TokenService tokenService = new TokenService(SECRET, Duration.ofMinutes(5), 100);
+
+
+    @Test
+    public void getUserShouldReturnTokenUser() {
+        // Create token
+        UserDto userDto = createUserDto();
+        String token = tokenService.createToken(userDto);
+
+        // Act
+        UserDto tokenUser = tokenService.getUser(token);
+
+        // Assert
+        Assertions.assertNotNull(tokenUser);
+        Assertions.assertEquals(userDto.getId(), tokenUser.getId());
+        Assertions.assertEquals(userDto.getUsername(), tokenUser.getUsername());
+        Assertions.assertEquals(userDto.getModifiedDate(), tokenUser.getModifiedDate());
+        Assertions.assertEquals(
+            userDto.getRoles().stream().map(GrantedRoleDto::getAuthority).toList(),
+            tokenUser.getRoles().stream().map(GrantedRoleDto::getAuthority).toList()
+        );
+    }
+
+    @Test
+    public void getUserShouldReturnNullIfTokenIsSignedWithAnotherSecret() {
+        // Create token with another secret
+        byte[] otherSecret = new byte[32];
+        otherSecret[0] = 1;
+        TokenService otherTokenService = new TokenService(
+            Base64.getEncoder().encodeToString(otherSecret),
+            Duration.ofMinutes(5),
+            100
+        );
+        String token = otherTokenService.createToken(createUserDto());
+
+        // Act & Assert
+        Assertions.assertNull(tokenService.getUser(token));
+        Assertions.assertNull(tokenService.getUser("invalid-token"));
+    }
+
+    @Test
+    public void getUserShouldReturnNullIfTokenIsExpired() {
+        // Create expired token
+        TokenService expiredTokenService = new TokenService(SECRET, Duration.ofMinutes(-1), 100);
+        String token = expiredTokenService.createToken(createUserDto());
+
+        // Act & Assert
+        Assertions.assertNull(tokenService.getUser(token));
+    }
+
+    @Test
+    public void getUserShouldReturnNullIfTokenIsRevoked() {
+        // Create token
+        String token = tokenService.createToken(createUserDto());
+
+        // Act
+        tokenService.revokeToken(token);
+
+        // Assert
+        Assertions.assertNull(tokenService.getUser(token));
+        Assertions.assertNotNull(tokenService.getUser(tokenService.createToken(createUserDto())));
+    }
+
+    @Test
+    public void revokeTokenShouldKeepAtMostMaxRevokedTokens() {
+        // Create tokens
+        TokenService smallTokenService = new TokenService(SECRET, Duration.ofMinutes(5), 10);
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            tokens.add(smallTokenService.createToken(createUserDto()));
+        }
+
+        // Act
+        tokens.forEach(smallTokenService::revokeToken);
+
+        // Assert
+        Assertions.assertNull(smallTokenService.getUser(tokens.get(10)));
+        Assertions.assertEquals(10, tokens.stream().filter(token -> smallTokenService.getUser(token) == null).count());
+    }
+
+    @Test
+    public void shouldRenewShouldReturnTrueIfTokenIsPastHalfItsLifetime() {
+        // Create tokens, the renewing service has a longer lifetime than the tokens have left
+        TokenService renewingTokenService = new TokenService(SECRET, Duration.ofMinutes(20), 100);
+        String token = tokenService.createToken(createUserDto());
+
+        // Act & Assert
+        Assertions.assertFalse(tokenService.shouldRenew(tokenService.verifyToken(token)));
+        Assertions.assertTrue(renewingTokenService.shouldRenew(renewingTokenService.verifyToken(token)));
+    }
+
+
+    private static UserDto createUserDto() {
+        return new UserDto(
+            1L,
+            "username",
+            null,
+            new Date(),
+            List.of(
+                new GrantedRoleDto(null, Role.USER),
+                new GrantedRoleDto(2L, Role.ADMIN)
+            )
+        );
+    }
+}
@@ -0,0 +1,57 @@
+package tech.ayot.ticket.backend.unit.cache;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import tech.ayot.ticket.backend.cache.ExpiringMap;
+
+import java.time.Duration;
+
+public class ExpiringMapUnitTest {
+
+    @Test
+    public void getShouldNotReturnExpiredValue() {
+        // Create map whose values expire immediately
+        ExpiringMap<String, String> map = new ExpiringMap<>(Duration.ZERO, 10);
+        map.put("key", "value");
+
+        // Act & Assert
+        Assertions.assertNull(map.get("key"));
+        Assertions.assertEquals(0, map.size());
+    }
+
+    @Test
+    public void putShouldEvictValuesExpiringFirstIfMapIsFull() {
+        // Create full map
+        ExpiringMap<Integer, String> map = new ExpiringMap<>(Duration.ofMinutes(1), 20);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 20; i++) {
+            map.put(i, "value", now + 60_000 - i);
+        }
+
+        // Act
+        map.put(20, "value");
+
+        // Assert
+        Assertions.assertEquals(19, map.size());
+        Assertions.assertNull(map.get(19));
+        Assertions.assertNull(map.get(18));
+        Assertions.assertNotNull(map.get(0));
+        Assertions.assertNotNull(map.get(20));
+    }
+
+    @Test
+    public void updateShouldKeepExpiryOfLiveValue() throws InterruptedException {
+        // Create map with a value about to expire
+        ExpiringMap<String, Integer> map = new ExpiringMap<>(Duration.ofMinutes(1), 10);
+        map.put("key", 1, System.currentTimeMillis() + 50);
+
+        // Act
+        int value = map.update("key", count -> count == null ? 1 : count + 1);
+
+        // Assert
+        Assertions.assertEquals(2, value);
+        Thread.sleep(100);
+        Assertions.assertNull(map.get("key"));
+        Assertions.assertEquals(1, map.update("key", count -> count == null ? 1 : count + 1));
+    }
+}
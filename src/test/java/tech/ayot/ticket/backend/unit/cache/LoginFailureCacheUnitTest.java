@@ -0,0 +1,52 @@
+package tech.ayot.ticket.backend.unit.cache;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import tech.ayot.ticket.backend.cache.LoginFailureCache;
+
+import java.time.Duration;
+
+public class LoginFailureCacheUnitTest {
+
+    @Test
+    public void isBlockedShouldOnlyBlockUsernameFromAddressWithTooManyFailures() {
+        // Create cache and fail logins of a username from one address
+        LoginFailureCache loginFailureCache = new LoginFailureCache(3, 50, Duration.ofMinutes(15), 100);
+        for (int i = 0; i < 3; i++) {
+            loginFailureCache.recordFailure("username", "10.0.0.1");
+        }
+
+        // Act & Assert
+        Assertions.assertTrue(loginFailureCache.isBlocked("USERNAME", "10.0.0.1"));
+        Assertions.assertFalse(loginFailureCache.isBlocked("username", "10.0.0.2"));
+        Assertions.assertFalse(loginFailureCache.isBlocked("other-username", "10.0.0.1"));
+    }
+
+    @Test
+    public void isBlockedShouldBlockAddressWithTooManyFailures() {
+        // Create cache and fail logins of many usernames from one address
+        LoginFailureCache loginFailureCache = new LoginFailureCache(3, 5, Duration.ofMinutes(15), 100);
+        for (int i = 0; i < 5; i++) {
+            loginFailureCache.recordFailure("username-" + i, "10.0.0.1");
+        }
+
+        // Act & Assert
+        Assertions.assertTrue(loginFailureCache.isBlocked("other-username", "10.0.0.1"));
+        Assertions.assertFalse(loginFailureCache.isBlocked("other-username", "10.0.0.2"));
+    }
+
+    @Test
+    public void recordFailureShouldNotResetAddressIfUsernamesAreSprayed() {
+        // Create cache holding ten counters of each kind
+        LoginFailureCache loginFailureCache = new LoginFailureCache(3, 30, Duration.ofMinutes(15), 10);
+
+        // Act
+        for (int i = 0; i < 30; i++) {
+            loginFailureCache.recordFailure("sprayed-username-" + i, "10.0.0.1");
+        }
+
+        // Assert
+        Assertions.assertTrue(loginFailureCache.isBlocked("other-username", "10.0.0.1"));
+        Assertions.assertFalse(loginFailureCache.isBlocked("other-username", "10.0.0.2"));
+    }
+}
@@ -0,0 +1,53 @@
+package tech.ayot.ticket.backend.unit.cache;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tech.ayot.ticket.backend.cache.ProductNameCache;
+import tech.ayot.ticket.backend.repository.product.ProductRepository;
+
+import java.time.Duration;
+
+import static org.mockito.Mockito.*;
+
+public class ProductNameCacheUnitTest {
+
+    private ProductRepository productRepository;
+
+
+    @BeforeEach
+    public void setUp() {
+        productRepository = mock(ProductRepository.class);
+    }
+
+
+    @Test
+    public void getProductIdShouldReadProductIdFromCache() {
+        // Create cache
+        ProductNameCache productNameCache = new ProductNameCache(productRepository, Duration.ofMinutes(1), 10);
+        when(productRepository.findIdByName("name")).thenReturn(1L);
+        productNameCache.getProductId("name");
+
+        // Act
+        Long productId = productNameCache.getProductId("name");
+
+        // Assert
+        Assertions.assertEquals(1L, productId);
+        verify(productRepository, times(1)).findIdByName("name");
+    }
+
+    @Test
+    public void getProductIdShouldReloadExpiredProductId() {
+        // Create cache whose mappings expire immediately, and delete the product after it is cached
+        ProductNameCache productNameCache = new ProductNameCache(productRepository, Duration.ZERO, 10);
+        when(productRepository.findIdByName("name")).thenReturn(1L, (Long) null);
+        productNameCache.getProductId("name");
+
+        // Act
+        Long productId = productNameCache.getProductId("name");
+
+        // Assert
+        Assertions.assertNull(productId);
+        verify(productRepository, times(2)).findIdByName("name");
+    }
+}
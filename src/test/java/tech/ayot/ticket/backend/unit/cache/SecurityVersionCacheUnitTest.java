@@ -0,0 +1,85 @@
+package tech.ayot.ticket.backend.unit.cache;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import tech.ayot.ticket.backend.cache.SecurityVersionCache;
+import tech.ayot.ticket.backend.dto.auth.GrantedRoleDto;
+import tech.ayot.ticket.backend.dto.auth.UserDto;
+import tech.ayot.ticket.backend.model.enumuration.Role;
+import tech.ayot.ticket.backend.model.product.Product;
+import tech.ayot.ticket.backend.model.user.User;
+import tech.ayot.ticket.backend.model.user.UserProduct;
+import tech.ayot.ticket.backend.repository.user.UserRepository;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class SecurityVersionCacheUnitTest {
+
+    @Test
+    public void getUpdatedUserShouldReturnNullIfRolesAreLoadedInAnotherOrder() {
+        // Create user with two roles
+        User user = createUser(new Date(), Role.ADMIN, Role.USER);
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findWithUserProductsById(user.getId())).thenReturn(user);
+        SecurityVersionCache securityVersionCache = new SecurityVersionCache(userRepository, Duration.ofMinutes(1), 100);
+
+        // Create principal with the same roles in reverse order
+        UserDto userDto = new UserDto(
+            user.getId(),
+            user.getUsername(),
+            user.getPassword(),
+            user.getLastModifiedDate(),
+            List.of(new GrantedRoleDto(2L, Role.USER), new GrantedRoleDto(1L, Role.ADMIN))
+        );
+
+        // Act & Assert
+        Assertions.assertNull(securityVersionCache.getUpdatedUser(userDto));
+    }
+
+    @Test
+    public void getUpdatedUserShouldReturnUserIfRolesChanged() {
+        // Create user and principal with another role
+        Date modifiedDate = new Date();
+        User user = createUser(modifiedDate, Role.ADMIN, Role.USER);
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findWithUserProductsById(user.getId())).thenReturn(user);
+        SecurityVersionCache securityVersionCache = new SecurityVersionCache(userRepository, Duration.ofMinutes(1), 100);
+        UserDto userDto = new UserDto(createUser(modifiedDate, Role.ADMIN, Role.STAFF));
+
+        // Act
+        UserDto updatedUserDto = securityVersionCache.getUpdatedUser(userDto);
+
+        // Assert
+        Assertions.assertNotNull(updatedUserDto);
+        Assertions.assertEquals(Role.USER, updatedUserDto.getRoles().get(1).getRole());
+    }
+
+
+    private static User createUser(Date modifiedDate, Role firstProductRole, Role secondProductRole) {
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("username");
+        user.setPassword("password");
+        user.setLastModifiedDate(modifiedDate);
+        user.setUserProducts(List.of(
+            createUserProduct(user, 1L, firstProductRole),
+            createUserProduct(user, 2L, secondProductRole)
+        ));
+        return user;
+    }
+
+    private static UserProduct createUserProduct(User user, Long productId, Role role) {
+        Product product = new Product();
+        product.setId(productId);
+        UserProduct userProduct = new UserProduct();
+        userProduct.setUser(user);
+        userProduct.setProduct(product);
+        userProduct.setRole(role);
+        return userProduct;
+    }
+}
@@ -0,0 +1,55 @@
+package tech.ayot.ticket.backend.unit.cache;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tech.ayot.ticket.backend.cache.TicketProductsCache;
+import tech.ayot.ticket.backend.repository.ticket.TicketRepository;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+public class TicketProductsCacheUnitTest {
+
+    private TicketRepository ticketRepository;
+
+
+    @BeforeEach
+    public void setUp() {
+        ticketRepository = mock(TicketRepository.class);
+    }
+
+
+    @Test
+    public void getProductNamesShouldReadProductNamesFromCache() {
+        // Create cache
+        TicketProductsCache ticketProductsCache = new TicketProductsCache(ticketRepository, Duration.ofMinutes(1), 10);
+        when(ticketRepository.findProductNamesByCreatedById(1L)).thenReturn(List.of("product"));
+        ticketProductsCache.getProductNames(1L);
+
+        // Act
+        List<String> productNames = ticketProductsCache.getProductNames(1L);
+
+        // Assert
+        Assertions.assertEquals(List.of("product"), productNames);
+        verify(ticketRepository, times(1)).findProductNamesByCreatedById(1L);
+    }
+
+    @Test
+    public void getProductNamesShouldReloadExpiredProductNames() {
+        // Create cache whose entries expire immediately, and create a ticket after the names are cached
+        TicketProductsCache ticketProductsCache = new TicketProductsCache(ticketRepository, Duration.ZERO, 10);
+        when(ticketRepository.findProductNamesByCreatedById(1L))
+            .thenReturn(List.of("product"), List.of("other-product", "product"));
+        ticketProductsCache.getProductNames(1L);
+
+        // Act
+        List<String> productNames = ticketProductsCache.getProductNames(1L);
+
+        // Assert
+        Assertions.assertEquals(List.of("other-product", "product"), productNames);
+        verify(ticketRepository, times(2)).findProductNamesByCreatedById(1L);
+    }
+}
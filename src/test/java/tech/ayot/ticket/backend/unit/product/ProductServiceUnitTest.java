@@ -278,20 +278,22 @@ public class ProductServiceUnitTest extends BaseUnitTest {
     public void deleteShouldDeleteProduct() {
         // Mock product repository
         Long productId = 1L;
-        when(productRepository.existsById(productId)).thenReturn(true);
+        when(productRepository.deleteByIdIfItHasNoTicket(productId)).thenReturn(1);
 
         // Act
         productService.delete(productId);
 
         // Assert
-        verify(productRepository, times(1)).deleteById(productId);
+        verify(productRepository, times(1)).deleteByIdIfItHasNoTicket(productId);
         verify(userProductRepository, times(1)).deleteAllByProductId(productId);
+        verify(productRepository, never()).existsById(productId);
     }
 
     @Test
     public void deleteShouldReturn404IfProductDoesNotExists() {
         // Mock product repository
         Long productId = 1L;
+        when(productRepository.deleteByIdIfItHasNoTicket(productId)).thenReturn(0);
         when(productRepository.existsById(productId)).thenReturn(false);
 
         // Act & Assert
@@ -302,4 +304,20 @@ public class ProductServiceUnitTest extends BaseUnitTest {
         Assertions.assertEquals(HttpStatus.NOT_FOUND, responseStatusException.getStatusCode());
         Assertions.assertEquals("There is no product with this id", responseStatusException.getReason());
     }
+
+    @Test
+    public void deleteShouldReturn404IfProductHasATicket() {
+        // Mock product repository
+        Long productId = 1L;
+        when(productRepository.deleteByIdIfItHasNoTicket(productId)).thenReturn(0);
+        when(productRepository.existsById(productId)).thenReturn(true);
+
+        // Act & Assert
+        ResponseStatusException responseStatusException = Assertions.assertThrows(
+            ResponseStatusException.class,
+            () -> productService.delete(productId)
+        );
+        Assertions.assertEquals(HttpStatus.NOT_FOUND, responseStatusException.getStatusCode());
+        Assertions.assertEquals("Cannot delete a product which has a ticket", responseStatusException.getReason());
+    }
 }
@@ -0,0 +1,237 @@
+package tech.ayot.ticket.backend.unit.session;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.MapSession;
+import org.springframework.session.Session;
+import tech.ayot.ticket.backend.repository.session.CachingSessionRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+public class CachingSessionRepositoryUnitTest {
+
+    private FindByIndexNameSessionRepository<Session> delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private CachingSessionRepository sessionRepository;
+
+    private MapSession storedSession;
+
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        delegate = mock(FindByIndexNameSessionRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        sessionRepository = new CachingSessionRepository(
+            delegate,
+            Duration.ofMinutes(1),
+            100,
+            Duration.ofMinutes(1),
+            meterRegistry
+        );
+
+        storedSession = new MapSession();
+        storedSession.setAttribute("attribute", "value");
+        when(delegate.findById(storedSession.getId())).thenReturn(storedSession);
+    }
+
+
+    @Test
+    public void findByIdShouldLoadSessionOnce() {
+        // Act
+        Session first = sessionRepository.findById(storedSession.getId());
+        Session second = sessionRepository.findById(storedSession.getId());
+
+        // Assert
+        verify(delegate, times(1)).findById(storedSession.getId());
+        Assertions.assertEquals("value", first.getAttribute("attribute"));
+        Assertions.assertEquals("value", second.getAttribute("attribute"));
+        Assertions.assertEquals(1, meterRegistry.get("cache.gets").tag("result", "hit").counter().count());
+        Assertions.assertEquals(1, meterRegistry.get("cache.gets").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    public void saveShouldWriteChangesThroughToDelegate() {
+        // Change session
+        Session session = sessionRepository.findById(storedSession.getId());
+        session.setAttribute("attribute", "new-value");
+        session.setLastAccessedTime(Instant.now().plus(Duration.ofMinutes(2)));
+
+        // Act
+        sessionRepository.save(session);
+
+        // Assert
+        verify(delegate, times(1)).save(storedSession);
+        Assertions.assertEquals("new-value", storedSession.getAttribute("attribute"));
+        Assertions.assertEquals(session.getLastAccessedTime(), storedSession.getLastAccessedTime());
+        Assertions.assertEquals("new-value", sessionRepository.findById(storedSession.getId()).getAttribute("attribute"));
+    }
+
+    @Test
+    public void requestsShouldNotSeeUnsavedChangesOfOtherRequests() {
+        // Change session without saving it
+        Session session = sessionRepository.findById(storedSession.getId());
+        session.setAttribute("attribute", "new-value");
+
+        // Act
+        Session otherSession = sessionRepository.findById(storedSession.getId());
+
+        // Assert
+        Assertions.assertEquals("value", otherSession.getAttribute("attribute"));
+    }
+
+    @Test
+    public void findByIdShouldEvictOldestSessionsIfCacheIsFull() {
+        // Create repository caching ten sessions, and fill it
+        CachingSessionRepository smallSessionRepository = new CachingSessionRepository(
+            delegate,
+            Duration.ofMinutes(1),
+            10,
+            Duration.ofMinutes(1),
+            meterRegistry
+        );
+        List<MapSession> storedSessions = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            MapSession session = new MapSession();
+            when(delegate.findById(session.getId())).thenReturn(session);
+            storedSessions.add(session);
+        }
+        storedSessions.subList(0, 10).forEach(session -> smallSessionRepository.findById(session.getId()));
+
+        // Act
+        smallSessionRepository.findById(storedSessions.get(10).getId());
+
+        // Assert
+        for (MapSession session : storedSessions.subList(1, 11)) {
+            smallSessionRepository.findById(session.getId());
+            verify(delegate, times(1)).findById(session.getId());
+        }
+        smallSessionRepository.findById(storedSessions.get(0).getId());
+        verify(delegate, times(2)).findById(storedSessions.get(0).getId());
+    }
+
+    @Test
+    public void deleteByIdShouldEvictSession() {
+        // Cache session
+        sessionRepository.findById(storedSession.getId());
+
+        // Act
+        sessionRepository.deleteById(storedSession.getId());
+        when(delegate.findById(storedSession.getId())).thenReturn(null);
+
+        // Assert
+        Assertions.assertNull(sessionRepository.findById(storedSession.getId()));
+        verify(delegate, times(1)).deleteById(storedSession.getId());
+    }
+
+    @Test
+    public void saveShouldEvictSessionsNotLoadedThroughCache() {
+        // Cache session
+        sessionRepository.findById(storedSession.getId());
+
+        // Act
+        sessionRepository.save(storedSession);
+        sessionRepository.findById(storedSession.getId());
+
+        // Assert
+        verify(delegate, times(1)).save(storedSession);
+        verify(delegate, times(2)).findById(storedSession.getId());
+    }
+
+    @Test
+    public void findByIdShouldNotReturnExpiredSessionFromCache() {
+        // Cache session and expire it
+        storedSession.setMaxInactiveInterval(Duration.ofSeconds(1));
+        storedSession.setLastAccessedTime(Instant.now().minusSeconds(10));
+        sessionRepository.findById(storedSession.getId());
+        when(delegate.findById(storedSession.getId())).thenReturn(null);
+
+        // Act
+        Session session = sessionRepository.findById(storedSession.getId());
+
+        // Assert
+        Assertions.assertNull(session);
+    }
+
+    @Test
+    public void createSessionShouldBeCachedAfterItIsSaved() {
+        // Create session
+        MapSession newSession = new MapSession();
+        when(delegate.createSession()).thenReturn(newSession);
+        Session session = sessionRepository.createSession();
+        session.setAttribute("attribute", "value");
+
+        // Act
+        sessionRepository.save(session);
+        Session foundSession = sessionRepository.findById(session.getId());
+
+        // Assert
+        verify(delegate, times(1)).save(newSession);
+        verify(delegate, never()).findById(session.getId());
+        Assertions.assertEquals("value", foundSession.getAttribute("attribute"));
+    }
+
+    @Test
+    public void saveShouldNotWriteRecentLastAccessTime() {
+        // Access session shortly after it was stored
+        Instant storedLastAccessedTime = storedSession.getLastAccessedTime();
+        Session session = sessionRepository.findById(storedSession.getId());
+        Instant lastAccessedTime = storedLastAccessedTime.plusSeconds(10);
+        session.setLastAccessedTime(lastAccessedTime);
+
+        // Act
+        sessionRepository.save(session);
+
+        // Assert
+        verify(delegate, never()).save(any());
+        Assertions.assertEquals(storedLastAccessedTime, storedSession.getLastAccessedTime());
+        Assertions.assertEquals(
+            lastAccessedTime,
+            sessionRepository.findById(storedSession.getId()).getLastAccessedTime()
+        );
+        Assertions.assertEquals(
+            1,
+            meterRegistry.get("sessions.writes.avoided").tag("type", "last-access").counter().count()
+        );
+    }
+
+    @Test
+    public void saveShouldNotWriteEqualAttributes() {
+        // Set attribute to an equal value
+        Session session = sessionRepository.findById(storedSession.getId());
+        session.setAttribute("attribute", new String("value"));
+
+        // Act
+        sessionRepository.save(session);
+
+        // Assert
+        verify(delegate, never()).save(any());
+        Assertions.assertEquals(
+            1,
+            meterRegistry.get("sessions.writes.avoided").tag("type", "attribute").counter().count()
+        );
+    }
+
+    @Test
+    public void saveShouldWriteAttributesChangedInPlace() {
+        // Set the same, possibly changed, instance again
+        Session session = sessionRepository.findById(storedSession.getId());
+        session.setAttribute("attribute", session.getAttribute("attribute"));
+
+        // Act
+        sessionRepository.save(session);
+
+        // Assert
+        verify(delegate, times(1)).save(storedSession);
+    }
+}
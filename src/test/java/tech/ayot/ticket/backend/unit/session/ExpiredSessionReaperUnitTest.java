@@ -0,0 +1,69 @@
+package tech.ayot.ticket.backend.unit.session;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.session.JdbcSessionProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import tech.ayot.ticket.backend.repository.session.ExpiredSessionReaper;
+
+import java.time.Duration;
+
+import static org.mockito.Mockito.*;
+
+public class ExpiredSessionReaperUnitTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ExpiredSessionReaper expiredSessionReaper;
+
+
+    @BeforeEach
+    public void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+        expiredSessionReaper = new ExpiredSessionReaper(
+            jdbcTemplate,
+            new JdbcSessionProperties(),
+            10,
+            3,
+            Duration.ZERO,
+            meterRegistry
+        );
+    }
+
+
+    @Test
+    public void deleteExpiredSessionsShouldDeleteBatchesUntilNoneIsFull() {
+        // Mock deleted sessions
+        when(jdbcTemplate.update(startsWith("delete"), anyLong(), eq(10))).thenReturn(10, 4);
+
+        // Act
+        expiredSessionReaper.deleteExpiredSessions();
+
+        // Assert
+        verify(jdbcTemplate, times(2)).update(startsWith("delete"), anyLong(), eq(10));
+        Assertions.assertEquals(14, meterRegistry.get("sessions.reaper.deleted").counter().count());
+        Assertions.assertEquals(1, meterRegistry.get("sessions.reaper.duration").timer().count());
+        Assertions.assertEquals(0, meterRegistry.get("sessions.reaper.lag").gauge().value());
+    }
+
+    @Test
+    public void deleteExpiredSessionsShouldStopAfterMaxBatches() {
+        // Mock deleted sessions and the oldest expired session left
+        when(jdbcTemplate.update(startsWith("delete"), anyLong(), eq(10))).thenReturn(10);
+        long oldestExpiryTime = System.currentTimeMillis() - 60_000;
+        when(jdbcTemplate.queryForObject(startsWith("select"), eq(Long.class), anyLong())).thenReturn(oldestExpiryTime);
+
+        // Act
+        expiredSessionReaper.deleteExpiredSessions();
+
+        // Assert
+        verify(jdbcTemplate, times(3)).update(startsWith("delete"), anyLong(), eq(10));
+        Assertions.assertEquals(30, meterRegistry.get("sessions.reaper.deleted").counter().count());
+        Assertions.assertTrue(meterRegistry.get("sessions.reaper.lag").gauge().value() >= 60_000);
+    }
+}
@@ -0,0 +1,138 @@
+package tech.ayot.ticket.backend.unit.session;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.serializer.support.SerializingConverter;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationToken;
+import tech.ayot.ticket.backend.dto.auth.GrantedRoleDto;
+import tech.ayot.ticket.backend.dto.auth.UserDto;
+import tech.ayot.ticket.backend.model.enumuration.Role;
+import tech.ayot.ticket.backend.repository.session.SessionAttributeConverter;
+
+import java.util.Date;
+import java.util.List;
+
+public class SessionAttributeConverterUnitTest {
+
+    private final SessionAttributeConverter converter = new SessionAttributeConverter(
+        true,
+        getClass().getClassLoader()
+    );
+
+
+    @Test
+    public void securityContextShouldBeReadBack() {
+        // Create security context
+        UserDto userDto = createUserDto();
+        SecurityContext securityContext = new SecurityContextImpl(new PreAuthenticatedAuthenticationToken(
+            userDto,
+            userDto.getPassword(),
+            userDto.getAuthorities()
+        ));
+
+        // Act
+        byte[] bytes = converter.serialize(securityContext);
+        SecurityContext readSecurityContext = (SecurityContext) converter.deserialize(bytes);
+
+        // Assert
+        Assertions.assertTrue(bytes.length < new SerializingConverter().convert(securityContext).length);
+        Assertions.assertInstanceOf(PreAuthenticatedAuthenticationToken.class, readSecurityContext.getAuthentication());
+        Assertions.assertTrue(readSecurityContext.getAuthentication().isAuthenticated());
+        Assertions.assertEquals(userDto.getPassword(), readSecurityContext.getAuthentication().getCredentials());
+        assertSameUser(userDto, (UserDto) readSecurityContext.getAuthentication().getPrincipal());
+    }
+
+    @Test
+    public void loginSecurityContextShouldBeReadBack() {
+        // Create security context like the one created on login
+        UserDto userDto = createUserDto();
+        SecurityContext securityContext = new SecurityContextImpl(UsernamePasswordAuthenticationToken.authenticated(
+            userDto,
+            null,
+            userDto.getAuthorities()
+        ));
+
+        // Act
+        SecurityContext readSecurityContext = (SecurityContext) converter.deserialize(
+            converter.serialize(securityContext)
+        );
+
+        // Assert
+        Assertions.assertInstanceOf(UsernamePasswordAuthenticationToken.class, readSecurityContext.getAuthentication());
+        Assertions.assertTrue(readSecurityContext.getAuthentication().isAuthenticated());
+        Assertions.assertNull(readSecurityContext.getAuthentication().getCredentials());
+        assertSameUser(userDto, (UserDto) readSecurityContext.getAuthentication().getPrincipal());
+    }
+
+    @Test
+    public void legacySessionAttributesShouldBeRead() {
+        // Serialize security context the way sessions were stored before
+        UserDto userDto = createUserDto();
+        SecurityContext securityContext = new SecurityContextImpl(new PreAuthenticatedAuthenticationToken(
+            userDto,
+            userDto.getPassword(),
+            userDto.getAuthorities()
+        ));
+        byte[] bytes = new SerializingConverter().convert(securityContext);
+
+        // Act
+        SecurityContext readSecurityContext = (SecurityContext) converter.deserialize(bytes);
+
+        // Assert
+        assertSameUser(userDto, (UserDto) readSecurityContext.getAuthentication().getPrincipal());
+    }
+
+    @Test
+    public void otherAttributesShouldUseJavaSerialization() {
+        // Act
+        byte[] bytes = converter.serialize(List.of(1L, 2L));
+
+        // Assert
+        Assertions.assertEquals(List.of(1L, 2L), converter.deserialize(bytes));
+        Assertions.assertArrayEquals(new SerializingConverter().convert(List.of(1L, 2L)), bytes);
+    }
+
+    @Test
+    public void compactFormatShouldNotBeWrittenIfDisabled() {
+        // Create converter
+        SessionAttributeConverter legacyConverter = new SessionAttributeConverter(
+            false,
+            getClass().getClassLoader()
+        );
+
+        // Act
+        byte[] bytes = legacyConverter.serialize("username");
+
+        // Assert
+        Assertions.assertArrayEquals(new SerializingConverter().convert("username"), bytes);
+        Assertions.assertEquals("username", converter.deserialize(bytes));
+    }
+
+
+    private static UserDto createUserDto() {
+        return new UserDto(
+            1L,
+            "username",
+            "$2a$10$awt8Ppzf2E/.MfDllrvQUecNVCU2U7vpvIXa/XsO.CBDYXLGu8gCe",
+            new Date(),
+            List.of(
+                new GrantedRoleDto(null, Role.USER),
+                new GrantedRoleDto(2L, Role.ADMIN)
+            )
+        );
+    }
+
+    private static void assertSameUser(UserDto expected, UserDto actual) {
+        Assertions.assertEquals(expected.getId(), actual.getId());
+        Assertions.assertEquals(expected.getUsername(), actual.getUsername());
+        Assertions.assertEquals(expected.getPassword(), actual.getPassword());
+        Assertions.assertEquals(expected.getModifiedDate(), actual.getModifiedDate());
+        Assertions.assertEquals(
+            expected.getRoles().stream().map(GrantedRoleDto::getAuthority).toList(),
+            actual.getRoles().stream().map(GrantedRoleDto::getAuthority).toList()
+        );
+    }
+}